@@ -0,0 +1,20 @@
+package android.content;
+
+import android.content.res.Resources;
+import android.util.DisplayMetrics;
+
+/**
+ * JVM stand-in for the framework's Context: only resources, for a fixed display.
+ */
+public class Context {
+
+	private final Resources mResources;
+
+	public Context(final DisplayMetrics displayMetrics) {
+	    mResources = new Resources(displayMetrics);
+	}
+
+	public Resources getResources() {
+	    return mResources;
+	}
+}
@@ -0,0 +1,19 @@
+package android.content.res;
+
+import android.util.DisplayMetrics;
+
+/**
+ * JVM stand-in for the framework's Resources: only the display metrics.
+ */
+public class Resources {
+
+	private final DisplayMetrics mDisplayMetrics;
+
+	public Resources(final DisplayMetrics displayMetrics) {
+	    mDisplayMetrics = displayMetrics;
+	}
+
+	public DisplayMetrics getDisplayMetrics() {
+	    return mDisplayMetrics;
+	}
+}
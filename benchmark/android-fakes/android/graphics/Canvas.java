@@ -0,0 +1,38 @@
+package android.graphics;
+
+/**
+ * JVM stand-in for the framework's Canvas. Nothing is rasterized; only the save stack is kept.
+ */
+public class Canvas {
+
+	private int mSaveCount = 1;
+
+	public int save() {
+	    return mSaveCount++;
+	}
+
+	public void restore() {
+	    if (mSaveCount <= 1) {
+	        throw new IllegalStateException("Underflow in restore");
+	    }
+	    mSaveCount--;
+	}
+
+	public void restoreToCount(final int saveCount) {
+	    mSaveCount = saveCount;
+	}
+
+	public int getSaveCount() {
+	    return mSaveCount;
+	}
+
+	public void translate(final float dx, final float dy) {
+	}
+
+	public void concat(final Matrix matrix) {
+	}
+
+	public boolean clipRect(final int left, final int top, final int right, final int bottom) {
+	    return true;
+	}
+}
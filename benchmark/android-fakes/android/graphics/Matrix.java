@@ -0,0 +1,70 @@
+package android.graphics;
+
+/**
+ * JVM stand-in for the framework's Matrix, an affine transform kept as its six coefficients.
+ */
+public class Matrix {
+
+	private float mScaleX = 1;
+	private float mSkewX;
+	private float mTranslateX;
+	private float mSkewY;
+	private float mScaleY = 1;
+	private float mTranslateY;
+
+	public void reset() {
+	    setValues(1, 0, 0, 0, 1, 0);
+	}
+
+	public void set(final Matrix src) {
+	    setValues(src.mScaleX, src.mSkewX, src.mTranslateX, src.mSkewY, src.mScaleY,
+	            src.mTranslateY);
+	}
+
+	public boolean isIdentity() {
+	    return mScaleX == 1 && mSkewX == 0 && mTranslateX == 0 && mSkewY == 0 && mScaleY == 1
+	            && mTranslateY == 0;
+	}
+
+	public void setTranslate(final float dx, final float dy) {
+	    setValues(1, 0, dx, 0, 1, dy);
+	}
+
+	public void setScale(final float sx, final float sy) {
+	    setValues(sx, 0, 0, 0, sy, 0);
+	}
+
+	public boolean postTranslate(final float dx, final float dy) {
+	    mTranslateX += dx;
+	    mTranslateY += dy;
+	    return true;
+	}
+
+	public boolean preTranslate(final float dx, final float dy) {
+	    mTranslateX += mScaleX * dx + mSkewX * dy;
+	    mTranslateY += mSkewY * dx + mScaleY * dy;
+	    return true;
+	}
+
+	public boolean postScale(final float sx, final float sy) {
+	    setValues(mScaleX * sx, mSkewX * sx, mTranslateX * sx, mSkewY * sy, mScaleY * sy,
+	            mTranslateY * sy);
+	    return true;
+	}
+
+	public boolean preScale(final float sx, final float sy) {
+	    setValues(mScaleX * sx, mSkewX * sy, mTranslateX, mSkewY * sx, mScaleY * sy,
+	            mTranslateY);
+	    return true;
+	}
+
+	private void setValues(final float scaleX, final float skewX, final float translateX,
+	        final float skewY, final float scaleY, final float translateY) {
+	    mScaleX = scaleX;
+	    mSkewX = skewX;
+	    mTranslateX = translateX;
+	    mSkewY = skewY;
+	    mScaleY = scaleY;
+	    mTranslateY = translateY;
+	}
+}
@@ -0,0 +1,90 @@
+package android.graphics;
+
+/**
+ * JVM stand-in for the framework's Rect, with the same semantics.
+ */
+public final class Rect {
+
+	public int left;
+	public int top;
+	public int right;
+	public int bottom;
+
+	public Rect() {
+	}
+
+	public Rect(final int left, final int top, final int right, final int bottom) {
+	    set(left, top, right, bottom);
+	}
+
+	public void set(final int left, final int top, final int right, final int bottom) {
+	    this.left = left;
+	    this.top = top;
+	    this.right = right;
+	    this.bottom = bottom;
+	}
+
+	public void set(final Rect src) {
+	    set(src.left, src.top, src.right, src.bottom);
+	}
+
+	public void setEmpty() {
+	    set(0, 0, 0, 0);
+	}
+
+	public boolean isEmpty() {
+	    return left >= right || top >= bottom;
+	}
+
+	public int width() {
+	    return right - left;
+	}
+
+	public int height() {
+	    return bottom - top;
+	}
+
+	public boolean contains(final int x, final int y) {
+	    return left < right && top < bottom && x >= left && x < right && y >= top && y < bottom;
+	}
+
+	public boolean intersect(final int left, final int top, final int right, final int bottom) {
+	    if (this.left < right && left < this.right && this.top < bottom && top < this.bottom) {
+	        this.left = Math.max(this.left, left);
+	        this.top = Math.max(this.top, top);
+	        this.right = Math.min(this.right, right);
+	        this.bottom = Math.min(this.bottom, bottom);
+	        return true;
+	    }
+	    return false;
+	}
+
+	public boolean intersect(final Rect r) {
+	    return intersect(r.left, r.top, r.right, r.bottom);
+	}
+
+	public void union(final int left, final int top, final int right, final int bottom) {
+	    if (left >= right || top >= bottom) {
+	        return;
+	    }
+	    if (this.left < this.right && this.top < this.bottom) {
+	        this.left = Math.min(this.left, left);
+	        this.top = Math.min(this.top, top);
+	        this.right = Math.max(this.right, right);
+	        this.bottom = Math.max(this.bottom, bottom);
+	    } else {
+	        set(left, top, right, bottom);
+	    }
+	}
+
+	public void union(final Rect r) {
+	    union(r.left, r.top, r.right, r.bottom);
+	}
+
+	public void offset(final int dx, final int dy) {
+	    left += dx;
+	    top += dy;
+	    right += dx;
+	    bottom += dy;
+	}
+}
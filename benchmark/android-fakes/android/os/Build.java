@@ -0,0 +1,19 @@
+package android.os;
+
+/**
+ * JVM stand-in for the framework's Build. Reports API level 18, so that the pager traces
+ * through {@link Trace} by reflection as it does on current devices.
+ */
+public final class Build {
+
+	private Build() {
+	}
+
+	public static final class VERSION {
+
+	    public static final int SDK_INT = 18;
+
+	    private VERSION() {
+	    }
+	}
+}
@@ -0,0 +1,7 @@
+package android.os;
+
+/**
+ * JVM stand-in for the framework's IBinder, only used as a window token.
+ */
+public interface IBinder {
+}
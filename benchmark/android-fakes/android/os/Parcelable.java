@@ -0,0 +1,7 @@
+package android.os;
+
+/**
+ * JVM stand-in for the framework's Parcelable; saved states never leave the process here.
+ */
+public interface Parcelable {
+}
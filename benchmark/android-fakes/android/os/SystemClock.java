@@ -0,0 +1,29 @@
+package android.os;
+
+/**
+ * JVM stand-in for the framework's SystemClock, driven by the caller so that replays are
+ * reproducible.
+ */
+public final class SystemClock {
+
+	private static long sUptimeMillis;
+
+	private SystemClock() {
+	}
+
+	public static long uptimeMillis() {
+	    return sUptimeMillis;
+	}
+
+	/**
+	 * Not in the framework: moves the clock. Time never goes backwards.
+	 *
+	 * @param uptimeMillis The new time.
+	 */
+	public static void setUptimeMillis(final long uptimeMillis) {
+	    if (uptimeMillis < sUptimeMillis) {
+	        throw new IllegalArgumentException("Time went backwards to " + uptimeMillis);
+	    }
+	    sUptimeMillis = uptimeMillis;
+	}
+}
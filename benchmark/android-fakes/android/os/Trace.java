@@ -0,0 +1,30 @@
+package android.os;
+
+/**
+ * JVM stand-in for the framework's Trace. Keeps the nesting depth of the open sections, so that
+ * a replay can check every section was closed.
+ */
+public final class Trace {
+
+	private static int sDepth;
+
+	private Trace() {
+	}
+
+	public static void beginSection(final String sectionName) {
+	    sDepth++;
+	}
+
+	public static void endSection() {
+	    sDepth--;
+	}
+
+	/**
+	 * Not in the framework.
+	 *
+	 * @return Sections begun and not yet ended.
+	 */
+	public static int getDepth() {
+	    return sDepth;
+	}
+}
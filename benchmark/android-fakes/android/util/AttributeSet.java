@@ -0,0 +1,7 @@
+package android.util;
+
+/**
+ * JVM stand-in for the framework's AttributeSet; views are only created from code.
+ */
+public interface AttributeSet {
+}
@@ -0,0 +1,14 @@
+package android.util;
+
+/**
+ * JVM stand-in for the framework's DisplayMetrics, defaulting to an hdpi phone.
+ */
+public class DisplayMetrics {
+
+	public static final int DENSITY_DEFAULT = 160;
+
+	public float density = 1.5f;
+	public int densityDpi = 240;
+	public int widthPixels = 480;
+	public int heightPixels = 800;
+}
@@ -0,0 +1,43 @@
+package android.util;
+
+/**
+ * JVM stand-in for the framework's Log, printing to standard error.
+ */
+public final class Log {
+
+	private Log() {
+	}
+
+	public static int d(final String tag, final String msg) {
+	    return println("D", tag, msg, null);
+	}
+
+	public static int i(final String tag, final String msg) {
+	    return println("I", tag, msg, null);
+	}
+
+	public static int w(final String tag, final String msg) {
+	    return println("W", tag, msg, null);
+	}
+
+	public static int w(final String tag, final String msg, final Throwable tr) {
+	    return println("W", tag, msg, tr);
+	}
+
+	public static int e(final String tag, final String msg) {
+	    return println("E", tag, msg, null);
+	}
+
+	public static int e(final String tag, final String msg, final Throwable tr) {
+	    return println("E", tag, msg, tr);
+	}
+
+	private static int println(final String priority, final String tag, final String msg,
+	        final Throwable tr) {
+	    System.err.println(priority + "/" + tag + ": " + msg);
+	    if (tr != null) {
+	        tr.printStackTrace();
+	    }
+	    return 0;
+	}
+}
@@ -0,0 +1,113 @@
+package android.util;
+
+/**
+ * JVM stand-in for the framework's SparseArray: keys kept sorted in a primitive array, so that
+ * lookups and updates of existing keys don't allocate.
+ */
+public class SparseArray<E> {
+
+	private int[] mKeys;
+	private Object[] mValues;
+	private int mSize;
+
+	public SparseArray() {
+	    this(10);
+	}
+
+	public SparseArray(final int initialCapacity) {
+	    mKeys = new int[initialCapacity];
+	    mValues = new Object[initialCapacity];
+	}
+
+	public E get(final int key) {
+	    return get(key, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	public E get(final int key, final E valueIfKeyNotFound) {
+	    final int i = binarySearch(key);
+	    return i < 0 ? valueIfKeyNotFound : (E) mValues[i];
+	}
+
+	public void put(final int key, final E value) {
+	    int i = binarySearch(key);
+	    if (i >= 0) {
+	        mValues[i] = value;
+	        return;
+	    }
+	    i = ~i;
+	    if (mSize == mKeys.length) {
+	        final int capacity = Math.max(4, mSize * 2);
+	        final int[] keys = new int[capacity];
+	        final Object[] values = new Object[capacity];
+	        System.arraycopy(mKeys, 0, keys, 0, mSize);
+	        System.arraycopy(mValues, 0, values, 0, mSize);
+	        mKeys = keys;
+	        mValues = values;
+	    }
+	    System.arraycopy(mKeys, i, mKeys, i + 1, mSize - i);
+	    System.arraycopy(mValues, i, mValues, i + 1, mSize - i);
+	    mKeys[i] = key;
+	    mValues[i] = value;
+	    mSize++;
+	}
+
+	public void remove(final int key) {
+	    delete(key);
+	}
+
+	public void delete(final int key) {
+	    final int i = binarySearch(key);
+	    if (i >= 0) {
+	        removeAt(i);
+	    }
+	}
+
+	public void removeAt(final int index) {
+	    System.arraycopy(mKeys, index + 1, mKeys, index, mSize - index - 1);
+	    System.arraycopy(mValues, index + 1, mValues, index, mSize - index - 1);
+	    mSize--;
+	    mValues[mSize] = null;
+	}
+
+	public int size() {
+	    return mSize;
+	}
+
+	public int keyAt(final int index) {
+	    return mKeys[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	public E valueAt(final int index) {
+	    return (E) mValues[index];
+	}
+
+	public int indexOfKey(final int key) {
+	    return binarySearch(key);
+	}
+
+	public void clear() {
+	    for (int i = 0; i < mSize; i++) {
+	        mValues[i] = null;
+	    }
+	    mSize = 0;
+	}
+
+	private int binarySearch(final int key) {
+	    int low = 0;
+	    int high = mSize - 1;
+	    while (low <= high) {
+	        final int mid = (low + high) >>> 1;
+	        final int midKey = mKeys[mid];
+	        if (midKey < key) {
+	            low = mid + 1;
+	        } else if (midKey > key) {
+	            high = mid - 1;
+	        } else {
+	            return mid;
+	        }
+	    }
+	    return ~low;
+	}
+}
@@ -0,0 +1,15 @@
+package android.view;
+
+/**
+ * JVM stand-in for the framework's Display.
+ */
+public class Display {
+
+	public int getWidth() {
+	    return 480;
+	}
+
+	public int getHeight() {
+	    return 800;
+	}
+}
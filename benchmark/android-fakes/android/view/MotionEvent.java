@@ -0,0 +1,119 @@
+package android.view;
+
+/**
+ * JVM stand-in for the framework's single-pointer MotionEvent, recycled through a pool like the
+ * real one.
+ */
+public final class MotionEvent {
+
+	public static final int ACTION_MASK = 0xff;
+	public static final int ACTION_DOWN = 0;
+	public static final int ACTION_UP = 1;
+	public static final int ACTION_MOVE = 2;
+	public static final int ACTION_CANCEL = 3;
+	public static final int ACTION_OUTSIDE = 4;
+
+	private static final int MAX_RECYCLED = 10;
+	private static final Object sRecyclerLock = new Object();
+	private static int sRecyclerUsed;
+	private static MotionEvent sRecyclerTop;
+
+	private MotionEvent mNext;
+	private boolean mRecycled;
+
+	private long mDownTime;
+	private long mEventTime;
+	private int mAction;
+	private float mX;
+	private float mY;
+	private int mMetaState;
+
+	private MotionEvent() {
+	}
+
+	private static MotionEvent obtain() {
+	    synchronized (sRecyclerLock) {
+	        final MotionEvent ev = sRecyclerTop;
+	        if (ev == null) {
+	            return new MotionEvent();
+	        }
+	        sRecyclerTop = ev.mNext;
+	        sRecyclerUsed--;
+	        ev.mNext = null;
+	        ev.mRecycled = false;
+	        return ev;
+	    }
+	}
+
+	public static MotionEvent obtain(final long downTime, final long eventTime, final int action,
+	        final float x, final float y, final int metaState) {
+	    final MotionEvent ev = obtain();
+	    ev.mDownTime = downTime;
+	    ev.mEventTime = eventTime;
+	    ev.mAction = action;
+	    ev.mX = x;
+	    ev.mY = y;
+	    ev.mMetaState = metaState;
+	    return ev;
+	}
+
+	public static MotionEvent obtain(final MotionEvent o) {
+	    return obtain(o.mDownTime, o.mEventTime, o.mAction, o.mX, o.mY, o.mMetaState);
+	}
+
+	public void recycle() {
+	    if (mRecycled) {
+	        throw new RuntimeException(this + " recycled twice!");
+	    }
+	    mRecycled = true;
+	    synchronized (sRecyclerLock) {
+	        if (sRecyclerUsed < MAX_RECYCLED) {
+	            sRecyclerUsed++;
+	            mNext = sRecyclerTop;
+	            sRecyclerTop = this;
+	        }
+	    }
+	}
+
+	public int getAction() {
+	    return mAction;
+	}
+
+	public void setAction(final int action) {
+	    mAction = action;
+	}
+
+	public long getDownTime() {
+	    return mDownTime;
+	}
+
+	public long getEventTime() {
+	    return mEventTime;
+	}
+
+	public float getX() {
+	    return mX;
+	}
+
+	public float getY() {
+	    return mY;
+	}
+
+	public int getMetaState() {
+	    return mMetaState;
+	}
+
+	public int getHistorySize() {
+	    return 0;
+	}
+
+	public void setLocation(final float x, final float y) {
+	    mX = x;
+	    mY = y;
+	}
+
+	public void offsetLocation(final float deltaX, final float deltaY) {
+	    mX += deltaX;
+	    mY += deltaY;
+	}
+}
@@ -0,0 +1,102 @@
+package android.view;
+
+/**
+ * JVM stand-in for the framework's VelocityTracker, using Froyo's estimate: the average of the
+ * velocities from the oldest of the last ten points within 200 ms to each later point but the
+ * newest.
+ */
+public final class VelocityTracker {
+
+	private static final int NUM_PAST = 10;
+	private static final long LONGEST_PAST_TIME = 200;
+
+	private static VelocityTracker sPool;
+
+	private final float[] mPastX = new float[NUM_PAST];
+	private final float[] mPastY = new float[NUM_PAST];
+	private final long[] mPastTime = new long[NUM_PAST];
+	private int mCount;
+	private float mXVelocity;
+	private float mYVelocity;
+	private VelocityTracker mNext;
+
+	private VelocityTracker() {
+	}
+
+	public static VelocityTracker obtain() {
+	    final VelocityTracker tracker = sPool;
+	    if (tracker == null) {
+	        return new VelocityTracker();
+	    }
+	    sPool = tracker.mNext;
+	    tracker.mNext = null;
+	    return tracker;
+	}
+
+	public void recycle() {
+	    clear();
+	    mNext = sPool;
+	    sPool = this;
+	}
+
+	public void clear() {
+	    mCount = 0;
+	    mXVelocity = 0;
+	    mYVelocity = 0;
+	}
+
+	public void addMovement(final MotionEvent ev) {
+	    final long time = ev.getEventTime();
+
+	    // Drop the points that are too old, and the oldest point if the buffer is full
+	    int drop = 0;
+	    while (drop < mCount && time - mPastTime[drop] > LONGEST_PAST_TIME) {
+	        drop++;
+	    }
+	    if (mCount - drop == NUM_PAST) {
+	        drop++;
+	    }
+	    if (drop > 0) {
+	        mCount -= drop;
+	        System.arraycopy(mPastX, drop, mPastX, 0, mCount);
+	        System.arraycopy(mPastY, drop, mPastY, 0, mCount);
+	        System.arraycopy(mPastTime, drop, mPastTime, 0, mCount);
+	    }
+
+	    mPastX[mCount] = ev.getX();
+	    mPastY[mCount] = ev.getY();
+	    mPastTime[mCount] = time;
+	    mCount++;
+	}
+
+	public void computeCurrentVelocity(final int units) {
+	    computeCurrentVelocity(units, Float.MAX_VALUE);
+	}
+
+	public void computeCurrentVelocity(final int units, final float maxVelocity) {
+	    float accumX = 0;
+	    float accumY = 0;
+	    // The newest point is probably noisy
+	    final int count = mCount > 3 ? mCount - 1 : mCount;
+	    for (int i = 1; i < count; i++) {
+	        final long duration = mPastTime[i] - mPastTime[0];
+	        if (duration == 0) {
+	            continue;
+	        }
+	        final float velocityX = (mPastX[i] - mPastX[0]) / duration * units;
+	        final float velocityY = (mPastY[i] - mPastY[0]) / duration * units;
+	        accumX = accumX == 0 ? velocityX : (accumX + velocityX) * 0.5f;
+	        accumY = accumY == 0 ? velocityY : (accumY + velocityY) * 0.5f;
+	    }
+	    mXVelocity = Math.max(-maxVelocity, Math.min(maxVelocity, accumX));
+	    mYVelocity = Math.max(-maxVelocity, Math.min(maxVelocity, accumY));
+	}
+
+	public float getXVelocity() {
+	    return mXVelocity;
+	}
+
+	public float getYVelocity() {
+	    return mYVelocity;
+	}
+}
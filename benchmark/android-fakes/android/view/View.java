@@ -0,0 +1,438 @@
+package android.view;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.IBinder;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.view.animation.Animation;
+
+/**
+ * JVM stand-in for the framework's View, following Froyo's behaviour where the pager depends on
+ * it: measure caching, layout with size change callbacks, scrolling, offsets that don't
+ * invalidate, posting to the UI thread, hierarchy state and touch listeners. Invalidation and
+ * layout requests are passed up to the {@link ViewRoot} the view is attached to.
+ */
+public class View {
+
+	public static final int NO_ID = -1;
+	public static final int VISIBLE = 0x00000000;
+	public static final int INVISIBLE = 0x00000004;
+	public static final int GONE = 0x00000008;
+
+	public interface OnTouchListener {
+	    boolean onTouch(View v, MotionEvent event);
+	}
+
+	public static class MeasureSpec {
+	    private static final int MODE_SHIFT = 30;
+	    private static final int MODE_MASK = 0x3 << MODE_SHIFT;
+
+	    public static final int UNSPECIFIED = 0 << MODE_SHIFT;
+	    public static final int EXACTLY = 1 << MODE_SHIFT;
+	    public static final int AT_MOST = 2 << MODE_SHIFT;
+
+	    public static int makeMeasureSpec(final int size, final int mode) {
+	        return size + mode;
+	    }
+
+	    public static int getMode(final int measureSpec) {
+	        return measureSpec & MODE_MASK;
+	    }
+
+	    public static int getSize(final int measureSpec) {
+	        return measureSpec & ~MODE_MASK;
+	    }
+	}
+
+	private final Context mContext;
+	ViewGroup mParent;
+	ViewRoot mViewRoot;
+	private ViewTreeObserver mFloatingTreeObserver;
+	private OnTouchListener mOnTouchListener;
+
+	private int mId = NO_ID;
+	private int mVisibility = VISIBLE;
+
+	int mLeft;
+	int mTop;
+	int mRight;
+	int mBottom;
+	int mScrollX;
+	int mScrollY;
+
+	private int mMeasuredWidth;
+	private int mMeasuredHeight;
+	private int mOldWidthMeasureSpec = Integer.MIN_VALUE;
+	private int mOldHeightMeasureSpec = Integer.MIN_VALUE;
+	private boolean mForceLayout = true;
+	private boolean mLayoutRequired;
+
+	public View(final Context context) {
+	    mContext = context;
+	}
+
+	public View(final Context context, final AttributeSet attrs) {
+	    this(context);
+	}
+
+	public View(final Context context, final AttributeSet attrs, final int defStyle) {
+	    this(context);
+	}
+
+	public final Context getContext() {
+	    return mContext;
+	}
+
+	public int getId() {
+	    return mId;
+	}
+
+	public void setId(final int id) {
+	    mId = id;
+	}
+
+	public int getVisibility() {
+	    return mVisibility;
+	}
+
+	public void setVisibility(final int visibility) {
+	    if (visibility != mVisibility) {
+	        final boolean layoutChanged = visibility == GONE || mVisibility == GONE;
+	        mVisibility = visibility;
+	        if (layoutChanged) {
+	            requestLayout();
+	        }
+	        invalidate();
+	    }
+	}
+
+	public Animation getAnimation() {
+	    return null;
+	}
+
+	public boolean isOpaque() {
+	    return false;
+	}
+
+	public final ViewGroup getParent() {
+	    return mParent;
+	}
+
+	// Measuring and layout
+
+	public final void measure(final int widthMeasureSpec, final int heightMeasureSpec) {
+	    if (mForceLayout || widthMeasureSpec != mOldWidthMeasureSpec
+	            || heightMeasureSpec != mOldHeightMeasureSpec) {
+	        onMeasure(widthMeasureSpec, heightMeasureSpec);
+	        mLayoutRequired = true;
+	    }
+	    mOldWidthMeasureSpec = widthMeasureSpec;
+	    mOldHeightMeasureSpec = heightMeasureSpec;
+	}
+
+	protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+	    setMeasuredDimension(getDefaultSize(0, widthMeasureSpec),
+	            getDefaultSize(0, heightMeasureSpec));
+	}
+
+	protected final void setMeasuredDimension(final int measuredWidth, final int measuredHeight) {
+	    mMeasuredWidth = measuredWidth;
+	    mMeasuredHeight = measuredHeight;
+	}
+
+	public final int getMeasuredWidth() {
+	    return mMeasuredWidth;
+	}
+
+	public final int getMeasuredHeight() {
+	    return mMeasuredHeight;
+	}
+
+	public static int getDefaultSize(final int size, final int measureSpec) {
+	    final int specSize = MeasureSpec.getSize(measureSpec);
+	    return MeasureSpec.getMode(measureSpec) == MeasureSpec.UNSPECIFIED ? size : specSize;
+	}
+
+	public static int resolveSize(final int size, final int measureSpec) {
+	    final int specSize = MeasureSpec.getSize(measureSpec);
+	    switch (MeasureSpec.getMode(measureSpec)) {
+	        case MeasureSpec.AT_MOST:
+	            return Math.min(size, specSize);
+	        case MeasureSpec.EXACTLY:
+	            return specSize;
+	        default:
+	            return size;
+	    }
+	}
+
+	public void requestLayout() {
+	    mForceLayout = true;
+	    if (mParent != null) {
+	        mParent.requestLayout();
+	    } else if (mViewRoot != null) {
+	        mViewRoot.requestLayout();
+	    }
+	}
+
+	public void forceLayout() {
+	    mForceLayout = true;
+	}
+
+	public boolean isLayoutRequested() {
+	    return mForceLayout;
+	}
+
+	public final void layout(final int l, final int t, final int r, final int b) {
+	    final boolean changed = setFrame(l, t, r, b);
+	    if (changed || mLayoutRequired) {
+	        onLayout(changed, l, t, r, b);
+	        mLayoutRequired = false;
+	    }
+	    mForceLayout = false;
+	}
+
+	private boolean setFrame(final int left, final int top, final int right, final int bottom) {
+	    if (mLeft == left && mRight == right && mTop == top && mBottom == bottom) {
+	        return false;
+	    }
+	    final int oldWidth = mRight - mLeft;
+	    final int oldHeight = mBottom - mTop;
+	    invalidate();
+	    mLeft = left;
+	    mTop = top;
+	    mRight = right;
+	    mBottom = bottom;
+	    if (right - left != oldWidth || bottom - top != oldHeight) {
+	        onSizeChanged(right - left, bottom - top, oldWidth, oldHeight);
+	    }
+	    invalidate();
+	    return true;
+	}
+
+	protected void onLayout(final boolean changed, final int left, final int top,
+	        final int right, final int bottom) {
+	}
+
+	protected void onSizeChanged(final int w, final int h, final int oldw, final int oldh) {
+	}
+
+	public final int getLeft() {
+	    return mLeft;
+	}
+
+	public final int getTop() {
+	    return mTop;
+	}
+
+	public final int getRight() {
+	    return mRight;
+	}
+
+	public final int getBottom() {
+	    return mBottom;
+	}
+
+	public final int getWidth() {
+	    return mRight - mLeft;
+	}
+
+	public final int getHeight() {
+	    return mBottom - mTop;
+	}
+
+	public int getPaddingLeft() {
+	    return 0;
+	}
+
+	public int getPaddingTop() {
+	    return 0;
+	}
+
+	public int getPaddingRight() {
+	    return 0;
+	}
+
+	public int getPaddingBottom() {
+	    return 0;
+	}
+
+	public void getHitRect(final Rect outRect) {
+	    outRect.set(mLeft, mTop, mRight, mBottom);
+	}
+
+	/** Like the framework before API level 11, doesn't invalidate. */
+	public void offsetLeftAndRight(final int offset) {
+	    mLeft += offset;
+	    mRight += offset;
+	}
+
+	/** Like the framework before API level 11, doesn't invalidate. */
+	public void offsetTopAndBottom(final int offset) {
+	    mTop += offset;
+	    mBottom += offset;
+	}
+
+	// Scrolling
+
+	public final int getScrollX() {
+	    return mScrollX;
+	}
+
+	public final int getScrollY() {
+	    return mScrollY;
+	}
+
+	public void scrollTo(final int x, final int y) {
+	    if (mScrollX != x || mScrollY != y) {
+	        final int oldX = mScrollX;
+	        final int oldY = mScrollY;
+	        mScrollX = x;
+	        mScrollY = y;
+	        onScrollChanged(mScrollX, mScrollY, oldX, oldY);
+	        invalidate();
+	    }
+	}
+
+	public void scrollBy(final int x, final int y) {
+	    scrollTo(mScrollX + x, mScrollY + y);
+	}
+
+	protected void onScrollChanged(final int l, final int t, final int oldl, final int oldt) {
+	}
+
+	public void computeScroll() {
+	}
+
+	// Drawing
+
+	public void invalidate() {
+	    if (mViewRoot != null) {
+	        mViewRoot.invalidate();
+	    }
+	}
+
+	public void invalidate(final Rect dirty) {
+	    invalidate();
+	}
+
+	public void invalidate(final int l, final int t, final int r, final int b) {
+	    invalidate();
+	}
+
+	public void postInvalidate() {
+	    invalidate();
+	}
+
+	public void draw(final Canvas canvas) {
+	    onDraw(canvas);
+	    dispatchDraw(canvas);
+	}
+
+	protected void onDraw(final Canvas canvas) {
+	}
+
+	protected void dispatchDraw(final Canvas canvas) {
+	}
+
+	public long getDrawingTime() {
+	    return mViewRoot != null ? mViewRoot.getDrawingTime() : 0;
+	}
+
+	// Touch
+
+	public void setOnTouchListener(final OnTouchListener l) {
+	    mOnTouchListener = l;
+	}
+
+	public boolean dispatchTouchEvent(final MotionEvent event) {
+	    if (mOnTouchListener != null && mVisibility == VISIBLE
+	            && mOnTouchListener.onTouch(this, event)) {
+	        return true;
+	    }
+	    return onTouchEvent(event);
+	}
+
+	public boolean onTouchEvent(final MotionEvent event) {
+	    return false;
+	}
+
+	// Window
+
+	public boolean post(final Runnable action) {
+	    ViewRoot.getRunQueue().post(action);
+	    return true;
+	}
+
+	public boolean removeCallbacks(final Runnable action) {
+	    ViewRoot.getRunQueue().removeCallbacks(action);
+	    return true;
+	}
+
+	public ViewTreeObserver getViewTreeObserver() {
+	    if (mViewRoot != null) {
+	        return mViewRoot.getViewTreeObserver();
+	    }
+	    if (mFloatingTreeObserver == null) {
+	        mFloatingTreeObserver = new ViewTreeObserver();
+	    }
+	    return mFloatingTreeObserver;
+	}
+
+	public IBinder getWindowToken() {
+	    return mViewRoot != null ? mViewRoot.getWindowToken() : null;
+	}
+
+	void dispatchAttachedToWindow(final ViewRoot viewRoot) {
+	    mViewRoot = viewRoot;
+	    onAttachedToWindow();
+	}
+
+	void dispatchDetachedFromWindow() {
+	    onDetachedFromWindow();
+	    mViewRoot = null;
+	}
+
+	protected void onAttachedToWindow() {
+	}
+
+	protected void onDetachedFromWindow() {
+	}
+
+	// State
+
+	public void saveHierarchyState(final SparseArray<Parcelable> container) {
+	    dispatchSaveInstanceState(container);
+	}
+
+	protected void dispatchSaveInstanceState(final SparseArray<Parcelable> container) {
+	    if (mId != NO_ID) {
+	        final Parcelable state = onSaveInstanceState();
+	        if (state != null) {
+	            container.put(mId, state);
+	        }
+	    }
+	}
+
+	protected Parcelable onSaveInstanceState() {
+	    return null;
+	}
+
+	public void restoreHierarchyState(final SparseArray<Parcelable> container) {
+	    dispatchRestoreInstanceState(container);
+	}
+
+	protected void dispatchRestoreInstanceState(final SparseArray<Parcelable> container) {
+	    if (mId != NO_ID) {
+	        final Parcelable state = container.get(mId);
+	        if (state != null) {
+	            onRestoreInstanceState(state);
+	        }
+	    }
+	}
+
+	protected void onRestoreInstanceState(final Parcelable state) {
+	}
+}
@@ -0,0 +1,36 @@
+package android.view;
+
+import android.content.Context;
+
+/**
+ * JVM stand-in for the framework's ViewConfiguration, with Froyo's values scaled by the display
+ * density.
+ */
+public class ViewConfiguration {
+
+	private static final int TOUCH_SLOP = 16;
+	private static final int MINIMUM_FLING_VELOCITY = 50;
+	private static final int MAXIMUM_FLING_VELOCITY = 4000;
+
+	private final float mDensity;
+
+	private ViewConfiguration(final float density) {
+	    mDensity = density;
+	}
+
+	public static ViewConfiguration get(final Context context) {
+	    return new ViewConfiguration(context.getResources().getDisplayMetrics().density);
+	}
+
+	public int getScaledTouchSlop() {
+	    return (int) (mDensity * TOUCH_SLOP + 0.5f);
+	}
+
+	public int getScaledMinimumFlingVelocity() {
+	    return (int) (mDensity * MINIMUM_FLING_VELOCITY + 0.5f);
+	}
+
+	public int getScaledMaximumFlingVelocity() {
+	    return (int) (mDensity * MAXIMUM_FLING_VELOCITY + 0.5f);
+	}
+}
@@ -0,0 +1,269 @@
+package android.view;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.view.animation.Transformation;
+
+/**
+ * JVM stand-in for the framework's ViewGroup, following Froyo: touch dispatch with
+ * interception and a motion target, drawing with static transformations, and adding and
+ * removing children.
+ */
+public abstract class ViewGroup extends View {
+
+	private View[] mChildren = new View[12];
+	private int mChildrenCount;
+	private View mMotionTarget;
+	private boolean mDisallowIntercept;
+	private boolean mStaticTransformationsEnabled;
+	private final Transformation mChildTransformation = new Transformation();
+	private final Rect mTempRect = new Rect();
+
+	public ViewGroup(final Context context) {
+	    super(context);
+	}
+
+	public ViewGroup(final Context context, final AttributeSet attrs) {
+	    super(context, attrs);
+	}
+
+	public ViewGroup(final Context context, final AttributeSet attrs, final int defStyle) {
+	    super(context, attrs, defStyle);
+	}
+
+	@Override
+	protected abstract void onLayout(boolean changed, int l, int t, int r, int b);
+
+	// Children
+
+	public int getChildCount() {
+	    return mChildrenCount;
+	}
+
+	public View getChildAt(final int index) {
+	    return index < 0 || index >= mChildrenCount ? null : mChildren[index];
+	}
+
+	public int indexOfChild(final View child) {
+	    for (int i = 0; i < mChildrenCount; i++) {
+	        if (mChildren[i] == child) {
+	            return i;
+	        }
+	    }
+	    return -1;
+	}
+
+	public void addView(final View child) {
+	    addView(child, -1);
+	}
+
+	public void addView(final View child, int index) {
+	    if (child.mParent != null) {
+	        throw new IllegalStateException("The specified child already has a parent.");
+	    }
+	    requestLayout();
+	    invalidate();
+
+	    if (index < 0) {
+	        index = mChildrenCount;
+	    }
+	    if (mChildrenCount == mChildren.length) {
+	        final View[] children = new View[mChildrenCount + 12];
+	        System.arraycopy(mChildren, 0, children, 0, mChildrenCount);
+	        mChildren = children;
+	    }
+	    System.arraycopy(mChildren, index, mChildren, index + 1, mChildrenCount - index);
+	    mChildren[index] = child;
+	    mChildrenCount++;
+	    child.mParent = this;
+	    if (mViewRoot != null) {
+	        child.dispatchAttachedToWindow(mViewRoot);
+	    }
+	}
+
+	public void removeView(final View view) {
+	    final int index = indexOfChild(view);
+	    if (index >= 0) {
+	        removeViewAt(index);
+	    }
+	}
+
+	public void removeViewAt(final int index) {
+	    final View child = mChildren[index];
+	    if (child == mMotionTarget) {
+	        mMotionTarget = null;
+	    }
+	    if (mViewRoot != null) {
+	        child.dispatchDetachedFromWindow();
+	    }
+	    child.mParent = null;
+	    System.arraycopy(mChildren, index + 1, mChildren, index, mChildrenCount - index - 1);
+	    mChildren[--mChildrenCount] = null;
+	    requestLayout();
+	    invalidate();
+	}
+
+	public void removeAllViews() {
+	    while (mChildrenCount > 0) {
+	        removeViewAt(mChildrenCount - 1);
+	    }
+	}
+
+	// Touch
+
+	public void requestDisallowInterceptTouchEvent(final boolean disallowIntercept) {
+	    mDisallowIntercept = disallowIntercept;
+	    if (mParent != null) {
+	        mParent.requestDisallowInterceptTouchEvent(disallowIntercept);
+	    }
+	}
+
+	public boolean onInterceptTouchEvent(final MotionEvent ev) {
+	    return false;
+	}
+
+	@Override
+	public boolean dispatchTouchEvent(final MotionEvent ev) {
+	    final int action = ev.getAction();
+	    final float xf = ev.getX();
+	    final float yf = ev.getY();
+	    final float scrolledXFloat = xf + mScrollX;
+	    final float scrolledYFloat = yf + mScrollY;
+
+	    if (action == MotionEvent.ACTION_DOWN) {
+	        // A new gesture; forget the target of the previous one
+	        mMotionTarget = null;
+	        if (mDisallowIntercept || !onInterceptTouchEvent(ev)) {
+	            // Offer the down to the children under it, front to back
+	            ev.setAction(MotionEvent.ACTION_DOWN);
+	            final int scrolledXInt = (int) scrolledXFloat;
+	            final int scrolledYInt = (int) scrolledYFloat;
+	            for (int i = mChildrenCount - 1; i >= 0; i--) {
+	                final View child = mChildren[i];
+	                if (child.getVisibility() != VISIBLE) {
+	                    continue;
+	                }
+	                child.getHitRect(mTempRect);
+	                if (mTempRect.contains(scrolledXInt, scrolledYInt)) {
+	                    ev.setLocation(scrolledXFloat - child.mLeft, scrolledYFloat - child.mTop);
+	                    if (child.dispatchTouchEvent(ev)) {
+	                        mMotionTarget = child;
+	                        ev.setLocation(xf, yf);
+	                        return true;
+	                    }
+	                }
+	            }
+	            ev.setLocation(xf, yf);
+	        }
+	    }
+
+	    final boolean isUpOrCancel =
+	            action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL;
+	    if (isUpOrCancel) {
+	        mDisallowIntercept = false;
+	    }
+
+	    final View target = mMotionTarget;
+	    if (target == null) {
+	        // No child took the gesture; handle it like a plain view
+	        return super.dispatchTouchEvent(ev);
+	    }
+
+	    final float xc = scrolledXFloat - target.mLeft;
+	    final float yc = scrolledYFloat - target.mTop;
+	    if (!mDisallowIntercept && onInterceptTouchEvent(ev)) {
+	        // Steal the gesture: the child gets a cancel, we get the rest
+	        ev.setAction(MotionEvent.ACTION_CANCEL);
+	        ev.setLocation(xc, yc);
+	        target.dispatchTouchEvent(ev);
+	        ev.setAction(action);
+	        ev.setLocation(xf, yf);
+	        mMotionTarget = null;
+	        return true;
+	    }
+
+	    if (isUpOrCancel) {
+	        mMotionTarget = null;
+	    }
+	    ev.setLocation(xc, yc);
+	    final boolean handled = target.dispatchTouchEvent(ev);
+	    ev.setLocation(xf, yf);
+	    return handled;
+	}
+
+	// Drawing
+
+	protected void setStaticTransformationsEnabled(final boolean enabled) {
+	    mStaticTransformationsEnabled = enabled;
+	}
+
+	protected boolean getChildStaticTransformation(final View child, final Transformation t) {
+	    return false;
+	}
+
+	@Override
+	protected void dispatchDraw(final Canvas canvas) {
+	    final long drawingTime = getDrawingTime();
+	    for (int i = 0; i < mChildrenCount; i++) {
+	        final View child = mChildren[i];
+	        if (child.getVisibility() == VISIBLE) {
+	            drawChild(canvas, child, drawingTime);
+	        }
+	    }
+	}
+
+	protected boolean drawChild(final Canvas canvas, final View child, final long drawingTime) {
+	    child.computeScroll();
+	    final int restoreTo = canvas.save();
+	    canvas.translate(child.mLeft - child.mScrollX, child.mTop - child.mScrollY);
+	    if (mStaticTransformationsEnabled) {
+	        mChildTransformation.clear();
+	        if (getChildStaticTransformation(child, mChildTransformation)) {
+	            canvas.concat(mChildTransformation.getMatrix());
+	        }
+	    }
+	    child.draw(canvas);
+	    canvas.restoreToCount(restoreTo);
+	    return false;
+	}
+
+	// Window
+
+	@Override
+	void dispatchAttachedToWindow(final ViewRoot viewRoot) {
+	    super.dispatchAttachedToWindow(viewRoot);
+	    for (int i = 0; i < mChildrenCount; i++) {
+	        mChildren[i].dispatchAttachedToWindow(viewRoot);
+	    }
+	}
+
+	@Override
+	void dispatchDetachedFromWindow() {
+	    for (int i = 0; i < mChildrenCount; i++) {
+	        mChildren[i].dispatchDetachedFromWindow();
+	    }
+	    super.dispatchDetachedFromWindow();
+	}
+
+	// State
+
+	@Override
+	protected void dispatchSaveInstanceState(final SparseArray<Parcelable> container) {
+	    super.dispatchSaveInstanceState(container);
+	    for (int i = 0; i < mChildrenCount; i++) {
+	        mChildren[i].dispatchSaveInstanceState(container);
+	    }
+	}
+
+	@Override
+	protected void dispatchRestoreInstanceState(final SparseArray<Parcelable> container) {
+	    super.dispatchRestoreInstanceState(container);
+	    for (int i = 0; i < mChildrenCount; i++) {
+	        mChildren[i].dispatchRestoreInstanceState(container);
+	    }
+	}
+}
@@ -0,0 +1,167 @@
+package android.view;
+
+import android.graphics.Canvas;
+import android.os.IBinder;
+import android.os.SystemClock;
+import java.util.ArrayList;
+
+/**
+ * JVM stand-in for the framework's (hidden) ViewRoot: the window a view hierarchy is attached
+ * to. Unlike the real one it doesn't schedule anything; the caller drives it with
+ * {@link #dispatchTouchEvent(MotionEvent)} and {@link #doFrame()}, after moving
+ * {@link SystemClock}.
+ */
+public final class ViewRoot {
+
+	/**
+	 * The UI thread's message queue, reduced to the runnables posted by views.
+	 */
+	static final class RunQueue {
+
+	    private ArrayList<Runnable> mPending = new ArrayList<Runnable>();
+	    private ArrayList<Runnable> mRunning = new ArrayList<Runnable>();
+
+	    void post(final Runnable action) {
+	        mPending.add(action);
+	    }
+
+	    void removeCallbacks(final Runnable action) {
+	        while (mPending.remove(action)) {
+	            // Remove every occurrence, like Handler.removeCallbacks
+	        }
+	        while (mRunning.remove(action)) {
+	            // Also those about to run in this frame
+	        }
+	    }
+
+	    boolean isEmpty() {
+	        return mPending.isEmpty();
+	    }
+
+	    /**
+	     * Runs the runnables posted so far; those they post run next time.
+	     */
+	    void executeActions() {
+	        final ArrayList<Runnable> running = mPending;
+	        mPending = mRunning;
+	        mRunning = running;
+	        while (!mRunning.isEmpty()) {
+	            mRunning.remove(0).run();
+	        }
+	    }
+	}
+
+	private static final RunQueue sRunQueue = new RunQueue();
+
+	private final View mView;
+	private final int mWidth;
+	private final int mHeight;
+	private final ViewTreeObserver mTreeObserver = new ViewTreeObserver();
+	private final IBinder mWindowToken = new IBinder() {
+	};
+	private final Canvas mCanvas = new Canvas();
+	private boolean mLayoutRequested;
+	private boolean mDirty;
+	private long mDrawingTime;
+
+	/**
+	 * Attaches a view to a new window of the given size.
+	 *
+	 * @param view The root of the hierarchy.
+	 * @param width The window width in pixels.
+	 * @param height The window height in pixels.
+	 */
+	public ViewRoot(final View view, final int width, final int height) {
+	    mView = view;
+	    mWidth = width;
+	    mHeight = height;
+	    view.dispatchAttachedToWindow(this);
+	    requestLayout();
+	    invalidate();
+	}
+
+	static RunQueue getRunQueue() {
+	    return sRunQueue;
+	}
+
+	public View getView() {
+	    return mView;
+	}
+
+	/**
+	 * Detaches the hierarchy from the window.
+	 */
+	public void detach() {
+	    mView.dispatchDetachedFromWindow();
+	}
+
+	/**
+	 * Delivers an input event to the hierarchy.
+	 *
+	 * @param ev The event, in window coordinates.
+	 * @return Whether a view handled it.
+	 */
+	public boolean dispatchTouchEvent(final MotionEvent ev) {
+	    return mView.dispatchTouchEvent(ev);
+	}
+
+	/**
+	 * Runs one turn of the UI thread at the current {@link SystemClock#uptimeMillis()}: the
+	 * runnables posted to views, then a traversal if anything requested a layout or was
+	 * invalidated: measure and layout when requested, the pre-draw listeners, and the draw.
+	 *
+	 * @return Whether a frame was drawn.
+	 */
+	public boolean doFrame() {
+	    sRunQueue.executeActions();
+	    if (!mLayoutRequested && !mDirty) {
+	        return false;
+	    }
+
+	    if (mLayoutRequested) {
+	        mLayoutRequested = false;
+	        mView.measure(View.MeasureSpec.makeMeasureSpec(mWidth, View.MeasureSpec.EXACTLY),
+	                View.MeasureSpec.makeMeasureSpec(mHeight, View.MeasureSpec.EXACTLY));
+	        mView.layout(0, 0, mWidth, mHeight);
+	    }
+
+	    if (mTreeObserver.dispatchOnPreDraw()) {
+	        // A listener cancelled the draw and expects another traversal
+	        mDirty = true;
+	        return false;
+	    }
+
+	    // Invalidations made while drawing, e.g. by computeScroll(), are for the next frame
+	    mDirty = false;
+	    mDrawingTime = SystemClock.uptimeMillis();
+	    mView.draw(mCanvas);
+	    return true;
+	}
+
+	/**
+	 * @return Whether {@link #doFrame()} has anything to do.
+	 */
+	public boolean hasPendingWork() {
+	    return mLayoutRequested || mDirty || !sRunQueue.isEmpty();
+	}
+
+	void requestLayout() {
+	    mLayoutRequested = true;
+	}
+
+	void invalidate() {
+	    mDirty = true;
+	}
+
+	long getDrawingTime() {
+	    return mDrawingTime;
+	}
+
+	ViewTreeObserver getViewTreeObserver() {
+	    return mTreeObserver;
+	}
+
+	IBinder getWindowToken() {
+	    return mWindowToken;
+	}
+}
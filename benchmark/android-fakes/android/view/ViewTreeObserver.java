@@ -0,0 +1,39 @@
+package android.view;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stand-in for the framework's ViewTreeObserver: only pre-draw listeners.
+ */
+public final class ViewTreeObserver {
+
+	public interface OnPreDrawListener {
+	    boolean onPreDraw();
+	}
+
+	private final ArrayList<OnPreDrawListener> mOnPreDrawListeners =
+	        new ArrayList<OnPreDrawListener>();
+
+	public void addOnPreDrawListener(final OnPreDrawListener listener) {
+	    mOnPreDrawListeners.add(listener);
+	}
+
+	public void removeOnPreDrawListener(final OnPreDrawListener listener) {
+	    mOnPreDrawListeners.remove(listener);
+	}
+
+	public boolean isAlive() {
+	    return true;
+	}
+
+	/**
+	 * @return Whether a listener cancelled the draw.
+	 */
+	public boolean dispatchOnPreDraw() {
+	    boolean cancelDraw = false;
+	    for (int i = 0; i < mOnPreDrawListeners.size(); i++) {
+	        cancelDraw |= !mOnPreDrawListeners.get(i).onPreDraw();
+	    }
+	    return cancelDraw;
+	}
+}
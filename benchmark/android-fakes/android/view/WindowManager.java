@@ -0,0 +1,9 @@
+package android.view;
+
+/**
+ * JVM stand-in for the framework's WindowManager.
+ */
+public interface WindowManager {
+
+	Display getDefaultDisplay();
+}
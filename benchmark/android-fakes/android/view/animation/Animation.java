@@ -0,0 +1,7 @@
+package android.view.animation;
+
+/**
+ * JVM stand-in for the framework's Animation; views never run one here.
+ */
+public abstract class Animation {
+}
@@ -0,0 +1,54 @@
+package android.view.animation;
+
+import android.graphics.Matrix;
+
+/**
+ * JVM stand-in for the framework's Transformation.
+ */
+public class Transformation {
+
+	public static final int TYPE_IDENTITY = 0x0;
+	public static final int TYPE_ALPHA = 0x1;
+	public static final int TYPE_MATRIX = 0x2;
+	public static final int TYPE_BOTH = TYPE_ALPHA | TYPE_MATRIX;
+
+	private final Matrix mMatrix = new Matrix();
+	private float mAlpha;
+	private int mTransformationType;
+
+	public Transformation() {
+	    clear();
+	}
+
+	public void clear() {
+	    mMatrix.reset();
+	    mAlpha = 1;
+	    mTransformationType = TYPE_BOTH;
+	}
+
+	public void set(final Transformation t) {
+	    mMatrix.set(t.mMatrix);
+	    mAlpha = t.mAlpha;
+	    mTransformationType = t.mTransformationType;
+	}
+
+	public Matrix getMatrix() {
+	    return mMatrix;
+	}
+
+	public float getAlpha() {
+	    return mAlpha;
+	}
+
+	public void setAlpha(final float alpha) {
+	    mAlpha = alpha;
+	}
+
+	public int getTransformationType() {
+	    return mTransformationType;
+	}
+
+	public void setTransformationType(final int transformationType) {
+	    mTransformationType = transformationType;
+	}
+}
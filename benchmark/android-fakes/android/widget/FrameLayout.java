@@ -0,0 +1,43 @@
+package android.widget;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * JVM stand-in for the framework's FrameLayout with match_parent children: every child fills
+ * the frame.
+ */
+public class FrameLayout extends ViewGroup {
+
+	public FrameLayout(final Context context) {
+	    super(context);
+	}
+
+	@Override
+	protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+	    final int width = MeasureSpec.getSize(widthMeasureSpec);
+	    final int height = MeasureSpec.getSize(heightMeasureSpec);
+	    final int childWidthMeasureSpec = MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY);
+	    final int childHeightMeasureSpec =
+	            MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY);
+	    for (int i = 0; i < getChildCount(); i++) {
+	        final View child = getChildAt(i);
+	        if (child.getVisibility() != GONE) {
+	            child.measure(childWidthMeasureSpec, childHeightMeasureSpec);
+	        }
+	    }
+	    setMeasuredDimension(width, height);
+	}
+
+	@Override
+	protected void onLayout(final boolean changed, final int l, final int t, final int r,
+	        final int b) {
+	    for (int i = 0; i < getChildCount(); i++) {
+	        final View child = getChildAt(i);
+	        if (child.getVisibility() != GONE) {
+	            child.layout(0, 0, child.getMeasuredWidth(), child.getMeasuredHeight());
+	        }
+	    }
+	}
+}
@@ -0,0 +1,135 @@
+package android.widget;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+/**
+ * JVM stand-in for the framework's Scroller in scroll mode, with its default viscous fluid
+ * interpolation, timed by {@link SystemClock}.
+ */
+public class Scroller {
+
+	private static final int DEFAULT_DURATION = 250;
+	private static final float VISCOUS_FLUID_SCALE = 8;
+	private static final float VISCOUS_FLUID_NORMALIZE = 1 / viscousFluidUnnormalized(1);
+
+	private int mStartX;
+	private int mStartY;
+	private int mFinalX;
+	private int mFinalY;
+	private int mCurrX;
+	private int mCurrY;
+	private long mStartTime;
+	private int mDuration;
+	private float mDurationReciprocal;
+	private float mDeltaX;
+	private float mDeltaY;
+	private boolean mFinished = true;
+
+	public Scroller(final Context context) {
+	}
+
+	public final boolean isFinished() {
+	    return mFinished;
+	}
+
+	public final void forceFinished(final boolean finished) {
+	    mFinished = finished;
+	}
+
+	public final int getDuration() {
+	    return mDuration;
+	}
+
+	public final int getCurrX() {
+	    return mCurrX;
+	}
+
+	public final int getCurrY() {
+	    return mCurrY;
+	}
+
+	public final int getStartX() {
+	    return mStartX;
+	}
+
+	public final int getStartY() {
+	    return mStartY;
+	}
+
+	public final int getFinalX() {
+	    return mFinalX;
+	}
+
+	public final int getFinalY() {
+	    return mFinalY;
+	}
+
+	public boolean computeScrollOffset() {
+	    if (mFinished) {
+	        return false;
+	    }
+
+	    final int timePassed = timePassed();
+	    if (timePassed < mDuration) {
+	        final float x = viscousFluid(timePassed * mDurationReciprocal);
+	        mCurrX = mStartX + Math.round(x * mDeltaX);
+	        mCurrY = mStartY + Math.round(x * mDeltaY);
+	    } else {
+	        mCurrX = mFinalX;
+	        mCurrY = mFinalY;
+	        mFinished = true;
+	    }
+	    return true;
+	}
+
+	public void startScroll(final int startX, final int startY, final int dx, final int dy) {
+	    startScroll(startX, startY, dx, dy, DEFAULT_DURATION);
+	}
+
+	public void startScroll(final int startX, final int startY, final int dx, final int dy,
+	        final int duration) {
+	    mFinished = false;
+	    mDuration = duration;
+	    mStartTime = SystemClock.uptimeMillis();
+	    mStartX = startX;
+	    mStartY = startY;
+	    mFinalX = startX + dx;
+	    mFinalY = startY + dy;
+	    mDeltaX = dx;
+	    mDeltaY = dy;
+	    mDurationReciprocal = 1.0f / mDuration;
+	}
+
+	public void abortAnimation() {
+	    mCurrX = mFinalX;
+	    mCurrY = mFinalY;
+	    mFinished = true;
+	}
+
+	public void extendDuration(final int extend) {
+	    mDuration = timePassed() + extend;
+	    mDurationReciprocal = 1.0f / mDuration;
+	    mFinished = false;
+	}
+
+	public int timePassed() {
+	    return (int) (SystemClock.uptimeMillis() - mStartTime);
+	}
+
+	private static float viscousFluid(final float x) {
+	    return viscousFluidUnnormalized(x) * VISCOUS_FLUID_NORMALIZE;
+	}
+
+	private static float viscousFluidUnnormalized(float x) {
+	    x *= VISCOUS_FLUID_SCALE;
+	    if (x < 1) {
+	        x -= 1 - (float) Math.exp(-x);
+	    } else {
+	        final float start = 0.36787944117f; // 1/e == exp(-1)
+	        x = 1 - (float) Math.exp(1 - x);
+	        x = start + x * (1 - start);
+	    }
+	    return x;
+	}
+}
@@ -0,0 +1,486 @@
+package com.github.ysamlan.horizontalpager;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.DisplayMetrics;
+import android.view.MotionEvent;
+import android.view.ViewRoot;
+import android.widget.FrameLayout;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+/**
+ * Replays touch event streams against {@link HorizontalPager} and {@link VerticalPager} and checks
+ * the outcome against budgets: the screen the pager settles on, the number of frames it takes to
+ * settle after the finger lifts, allocations on the touch, layout and drawing paths, and trace
+ * sections left open.
+ * <p>
+ * The pagers run unmodified on the stand-ins for the framework classes in benchmark/android-fakes:
+ * a window that delivers the events and draws a frame every {@link #FRAME_INTERVAL_MILLIS} of a
+ * fake clock, and views, a scroller and a velocity tracker that behave like Froyo's. Tracing goes
+ * through {@link PlatformTracer} into a stand-in android.os.Trace. Each gesture is replayed over
+ * plain child pages and over pages from a {@link AbstractPager.PageProvider}, which are destroyed
+ * and created as the pager settles, once with each scroll mode
+ * ({@link AbstractPager#setScrollMode(int)}). The pages consume touches, like the lists in the
+ * tabbed demos, so the pager only gets a drag by intercepting it. Nothing in a replay may allocate
+ * once warmed up; any allocation there would show up as garbage collection pauses while scrolling
+ * on a device.
+ * <p>
+ * Without arguments the built-in strokes are replayed, followed by two cases with a linked
+ * follower: a long animated snap, during which the follower must have its pages in view whenever
+ * the source does, and a switch of scroll modes at rest, which must not move the follower or
+ * reach the scroll listener as a move. Otherwise each argument is a recording in the format
+ * described in {@link RecordedGesture}. One JSON object per case, kind of pages and scroll mode
+ * is printed to standard output, and the process exits with status 1 if any budget was exceeded.
+ */
+public final class GestureReplay {
+
+	private static final long FRAME_INTERVAL_MILLIS = 16;
+	private static final int SCREEN_COUNT = 5;
+	private static final int START_SCREEN = 2;
+	private static final int WIDTH = 480;
+	private static final int HEIGHT = 800;
+	private static final int MAX_SETTLE_FRAMES =
+	        (int) (PagingEngine.ANIMATION_SCREEN_SET_DURATION_MILLIS / FRAME_INTERVAL_MILLIS) + 2;
+	private static final int MAX_IDLE_FRAMES = 10 * MAX_SETTLE_FRAMES;
+	private static final long ALLOCATION_BUDGET_BYTES = 0;
+	private static final int WARMUP_REPLAYS = 2000;
+	private static final int LINKED_SCREEN_COUNT = 50;
+	private static final int LINKED_TARGET_SCREEN = 40;
+	private static final int[] SCROLL_MODES =
+	        { AbstractPager.SCROLL_MODE_CONTAINER, AbstractPager.SCROLL_MODE_PAGES };
+
+	private GestureReplay() {
+	}
+
+	public static void main(final String[] args) throws IOException {
+	    final ArrayList<RecordedGesture> gestures = new ArrayList<RecordedGesture>();
+	    if (args.length == 0) {
+	        addBuiltInGestures(gestures, false);
+	        addBuiltInGestures(gestures, true);
+	    } else {
+	        for (int i = 0; i < args.length; i++) {
+	            final BufferedReader reader = new BufferedReader(new FileReader(args[i]));
+	            try {
+	                gestures.add(RecordedGesture.parse(args[i], reader));
+	            } finally {
+	                reader.close();
+	            }
+	        }
+	    }
+
+	    final Context context = new Context(new DisplayMetrics());
+	    final AllocationCounter allocations = new AllocationCounter();
+	    final PrintStream out = System.out;
+	    boolean passed = true;
+
+	    for (int i = 0; i < gestures.size(); i++) {
+	        for (int mode = 0; mode < SCROLL_MODES.length; mode++) {
+	            passed &= replayGesture(context, allocations, gestures.get(i), false,
+	                    SCROLL_MODES[mode], out);
+	            passed &= replayGesture(context, allocations, gestures.get(i), true,
+	                    SCROLL_MODES[mode], out);
+	        }
+	    }
+
+	    if (args.length == 0) {
+	        for (int mode = 0; mode < SCROLL_MODES.length; mode++) {
+	            passed &= replayLinkedSnap(context, false, SCROLL_MODES[mode], out);
+	            passed &= replayLinkedSnap(context, true, SCROLL_MODES[mode], out);
+	        }
+	        passed &= replayScrollModeSwitch(context, false, out);
+	        passed &= replayScrollModeSwitch(context, true, out);
+	    }
+
+	    if (!passed) {
+	        System.exit(1);
+	    }
+	}
+
+	/**
+	 * Replays the gesture on a new window, warmed up, and prints the outcome.
+	 *
+	 * @return Whether the replay stayed within the budgets.
+	 */
+	private static boolean replayGesture(final Context context,
+	        final AllocationCounter allocations, final RecordedGesture gesture,
+	        final boolean provided, final int scrollMode, final PrintStream out)
+	        throws IOException {
+	    final ReplayWindow window =
+	            new ReplayWindow(context, gesture.vertical, provided, scrollMode);
+	    final int recordedEvents = window.record(gesture);
+	    for (int warmup = 0; warmup < WARMUP_REPLAYS; warmup++) {
+	        window.replay(gesture);
+	    }
+
+	    final long before = allocations.get();
+	    window.replay(gesture);
+	    final long after = allocations.get();
+
+	    final AbstractPager pager = window.pager;
+	    final long bytes = before < 0 ? -1 : after - before;
+	    final boolean screenOk = gesture.expectedScreen == RecordedGesture.UNKNOWN_SCREEN
+	            || pager.getCurrentScreen() == gesture.expectedScreen;
+	    final boolean settleOk = window.settleFrames <= MAX_SETTLE_FRAMES
+	            && !pager.isScrolling() && window.isIdle();
+	    final boolean allocationOk = bytes <= ALLOCATION_BUDGET_BYTES;
+	    final boolean traceOk = Trace.getDepth() == 0;
+	    final boolean recordingOk = recordedEvents == gesture.size();
+	    final boolean pass = screenOk && settleOk && allocationOk && traceOk && recordingOk;
+	    window.detach();
+
+	    out.println("{\"gesture\":\"" + gesture.name + "\",\"axis\":\""
+	            + (gesture.vertical ? "vertical" : "horizontal") + "\",\"pages\":\""
+	            + (provided ? "provider" : "children") + "\",\"scroll\":\""
+	            + getScrollModeName(scrollMode) + "\",\"finalScreen\":"
+	            + pager.getCurrentScreen() + ",\"expectedScreen\":"
+	            + gesture.expectedScreen + ",\"frames\":" + window.frames
+	            + ",\"settleFrames\":" + window.settleFrames + ",\"maxSettleFrames\":"
+	            + MAX_SETTLE_FRAMES + ",\"bytesAllocated\":" + bytes
+	            + ",\"openTraceSections\":" + Trace.getDepth() + ",\"recordedEvents\":"
+	            + recordedEvents + ",\"pass\":" + pass + "}");
+	    return pass;
+	}
+
+	/**
+	 * Snaps a pager with a linked follower from the first of {@link #LINKED_SCREEN_COUNT} provided
+	 * screens to {@link #LINKED_TARGET_SCREEN} and counts the frames in which the source had pages
+	 * filling its viewport but the follower didn't. Midway, neither has pages for the screens it
+	 * passes; from there on both must show the pages bound around the target.
+	 *
+	 * @return Whether both pagers settled on the target without such frames.
+	 */
+	private static boolean replayLinkedSnap(final Context context, final boolean vertical,
+	        final int scrollMode, final PrintStream out) {
+	    final AbstractPager source = createLinkedPager(context, vertical, LINKED_SCREEN_COUNT);
+	    final AbstractPager follower = createLinkedPager(context, vertical, LINKED_SCREEN_COUNT);
+	    source.setScrollMode(scrollMode);
+	    follower.setScrollMode(scrollMode);
+	    final ViewRoot root = attachLinkedPagers(context, source, follower);
+	    drawUntilIdle(root);
+
+	    source.setCurrentScreen(LINKED_TARGET_SCREEN, true);
+	    int frames = 0;
+	    int blankFrames = 0;
+	    for (int i = 0; root.hasPendingWork() && i < MAX_IDLE_FRAMES; i++) {
+	        SystemClock.setUptimeMillis(SystemClock.uptimeMillis() + FRAME_INTERVAL_MILLIS);
+	        if (root.doFrame()) {
+	            frames++;
+	            if (isViewportCovered(source) && !isViewportCovered(follower)) {
+	                blankFrames++;
+	            }
+	        }
+	    }
+
+	    final boolean pass = blankFrames == 0 && !root.hasPendingWork()
+	            && source.getCurrentScreen() == LINKED_TARGET_SCREEN
+	            && follower.getCurrentScreen() == LINKED_TARGET_SCREEN && Trace.getDepth() == 0;
+	    root.detach();
+
+	    out.println("{\"gesture\":\"linked-snap\",\"axis\":\""
+	            + (vertical ? "vertical" : "horizontal") + "\",\"pages\":\"provider\","
+	            + "\"scroll\":\"" + getScrollModeName(scrollMode) + "\",\"finalScreen\":"
+	            + follower.getCurrentScreen() + ",\"expectedScreen\":" + LINKED_TARGET_SCREEN
+	            + ",\"frames\":" + frames + ",\"blankFrames\":" + blankFrames
+	            + ",\"openTraceSections\":" + Trace.getDepth() + ",\"pass\":" + pass + "}");
+	    return pass;
+	}
+
+	/**
+	 * Switches a pager resting on {@link #START_SCREEN} to pages scrolling and back, and checks
+	 * that neither its {@link AbstractPager.OnPageScrollListener} nor a linked follower saw it
+	 * move.
+	 *
+	 * @return Whether both pagers stayed on the start screen throughout.
+	 */
+	private static boolean replayScrollModeSwitch(final Context context, final boolean vertical,
+	        final PrintStream out) {
+	    final AbstractPager source = createLinkedPager(context, vertical, SCREEN_COUNT);
+	    final AbstractPager follower = createLinkedPager(context, vertical, SCREEN_COUNT);
+	    final ViewRoot root = attachLinkedPagers(context, source, follower);
+	    // Laid out on screen 0 first, so the start screen lies away from the scroll origin
+	    drawUntilIdle(root);
+	    source.setCurrentScreen(START_SCREEN, false);
+	    drawUntilIdle(root);
+
+	    final int[] movedReports = new int[1];
+	    source.setOnPageScrollListener(new AbstractPager.OnPageScrollListener() {
+	        @Override
+	        public void onPageScrolled(final int screen, final float fraction) {
+	            if (screen != START_SCREEN || fraction != 0) {
+	                movedReports[0]++;
+	            }
+	        }
+	    });
+	    int followerMoves = 0;
+	    for (int mode = SCROLL_MODES.length - 1; mode >= 0; mode--) {
+	        source.setScrollMode(SCROLL_MODES[mode]);
+	        drawUntilIdle(root);
+	        if (follower.getScrollPosition() != START_SCREEN) {
+	            followerMoves++;
+	        }
+	    }
+
+	    final boolean pass = movedReports[0] == 0 && followerMoves == 0
+	            && source.getScrollPosition() == START_SCREEN
+	            && follower.getCurrentScreen() == START_SCREEN && Trace.getDepth() == 0;
+	    root.detach();
+
+	    out.println("{\"gesture\":\"scroll-mode-switch\",\"axis\":\""
+	            + (vertical ? "vertical" : "horizontal") + "\",\"pages\":\"provider\","
+	            + "\"finalScreen\":" + follower.getCurrentScreen() + ",\"expectedScreen\":"
+	            + START_SCREEN + ",\"movedScrollReports\":" + movedReports[0]
+	            + ",\"followerMoves\":" + followerMoves + ",\"openTraceSections\":"
+	            + Trace.getDepth() + ",\"pass\":" + pass + "}");
+	    return pass;
+	}
+
+	private static AbstractPager createLinkedPager(final Context context,
+	        final boolean vertical, final int screenCount) {
+	    final AbstractPager pager =
+	            vertical ? new VerticalPager(context) : new HorizontalPager(context);
+	    pager.setPageProvider(new RecyclingPageProvider(screenCount));
+	    return pager;
+	}
+
+	/**
+	 * Lays both pagers over each other in a new window and makes the second follow the first.
+	 */
+	private static ViewRoot attachLinkedPagers(final Context context, final AbstractPager source,
+	        final AbstractPager follower) {
+	    final FrameLayout content = new FrameLayout(context);
+	    content.addView(source);
+	    content.addView(follower);
+	    final ViewRoot root = new ViewRoot(content, WIDTH, HEIGHT);
+	    source.addLinkedPager(follower);
+	    return root;
+	}
+
+	private static void drawUntilIdle(final ViewRoot root) {
+	    for (int i = 0; root.hasPendingWork() && i < MAX_IDLE_FRAMES; i++) {
+	        SystemClock.setUptimeMillis(SystemClock.uptimeMillis() + FRAME_INTERVAL_MILLIS);
+	        root.doFrame();
+	    }
+	}
+
+	private static String getScrollModeName(final int scrollMode) {
+	    return scrollMode == AbstractPager.SCROLL_MODE_PAGES ? "pages" : "container";
+	}
+
+	/**
+	 * @return Whether the pager's pages leave no gap in its viewport.
+	 */
+	private static boolean isViewportCovered(final AbstractPager pager) {
+	    final int pageSize = pager.getPageSize();
+	    final int end = pager.getContainerScrollOffset() + pageSize;
+	    int covered = pager.getContainerScrollOffset();
+	    boolean extended = true;
+	    while (covered < end && extended) {
+	        extended = false;
+	        for (int i = 0; i < pager.getChildCount(); i++) {
+	            final int offset = pager.getPageOffset(pager.getChildAt(i));
+	            if (offset <= covered && covered < offset + pageSize) {
+	                covered = offset + pageSize;
+	                extended = true;
+	            }
+	        }
+	    }
+	    return covered >= end;
+	}
+
+	/**
+	 * Adds strokes along the pager's axis (drags, flings, cancels) and one across it, which a
+	 * nested scrolling child handles.
+	 */
+	private static void addBuiltInGestures(final ArrayList<RecordedGesture> gestures,
+	        final boolean vertical) {
+	    final String prefix = vertical ? "vertical-" : "horizontal-";
+	    final int size = vertical ? HEIGHT : WIDTH;
+	    final float center = size / 2f;
+	    final int acrossSize = vertical ? WIDTH : HEIGHT;
+	    final float across = acrossSize / 2f;
+
+	    // Slow drag over half a page towards the next screen
+	    gestures.add(stroke(prefix + "drag-next", vertical, START_SCREEN + 1,
+	            center + size / 4f, center - size / 4f, across, across, 1000, 60, false));
+	    // Slow drag under the swipe threshold springs back
+	    gestures.add(stroke(prefix + "drag-back", vertical, START_SCREEN,
+	            center, center + size / 8f, across, across, 1000, 60, false));
+	    // Short fast flick towards the previous screen
+	    gestures.add(stroke(prefix + "fling-previous", vertical, START_SCREEN - 1,
+	            center, center + size / 6f, across, across, 60, 6, false));
+	    // Touch that is cancelled before it becomes a drag
+	    gestures.add(stroke(prefix + "cancel", vertical, START_SCREEN,
+	            center, center + 8, across, across, 100, 5, true));
+	    // Scroll along the other axis, as in a list nested in the tabbed demos
+	    gestures.add(stroke(prefix + "nested-scroll", vertical, START_SCREEN,
+	            center, center, across + acrossSize / 4f, across - acrossSize / 4f, 400, 24,
+	            false));
+	}
+
+	/**
+	 * Creates a stroke from {@code from} to {@code to} along the pager's axis and from
+	 * {@code acrossFrom} to {@code acrossTo} across it.
+	 */
+	private static RecordedGesture stroke(final String name, final boolean vertical,
+	        final int expectedScreen, final float from, final float to, final float acrossFrom,
+	        final float acrossTo, final long durationMillis, final int moves,
+	        final boolean cancel) {
+	    return vertical
+	            ? RecordedGesture.stroke(name, true, expectedScreen, acrossFrom, from, acrossTo,
+	                    to, durationMillis, moves, cancel)
+	            : RecordedGesture.stroke(name, false, expectedScreen, from, acrossFrom, to,
+	                    acrossTo, durationMillis, moves, cancel);
+	}
+
+	/**
+	 * A window holding a pager with {@link #SCREEN_COUNT} screens, filling it.
+	 */
+	private static final class ReplayWindow {
+
+	    final AbstractPager pager;
+	    int frames;
+	    int settleFrames;
+
+	    private final ViewRoot mRoot;
+
+	    ReplayWindow(final Context context, final boolean vertical, final boolean provided,
+	            final int scrollMode) {
+	        pager = vertical ? new VerticalPager(context) : new HorizontalPager(context);
+	        if (provided) {
+	            pager.setPageProvider(new RecyclingPageProvider(SCREEN_COUNT));
+	        } else {
+	            for (int i = 0; i < SCREEN_COUNT; i++) {
+	                pager.addView(new TouchablePage(context));
+	            }
+	        }
+	        pager.setScrollMode(scrollMode);
+	        final FrameLayout content = new FrameLayout(context);
+	        content.addView(pager);
+	        mRoot = new ViewRoot(content, WIDTH, HEIGHT);
+	    }
+
+	    /**
+	     * Replays the gesture once through a {@link GestureRecorder} and reads the recording
+	     * back.
+	     *
+	     * @return The number of events in the recording.
+	     */
+	    int record(final RecordedGesture gesture) throws IOException {
+	        final StringWriter recording = new StringWriter();
+	        pager.setGestureRecorder(
+	                new GestureRecorder(new PrintWriter(recording), gesture.vertical));
+	        replay(gesture);
+	        pager.setGestureRecorder(null);
+	        final RecordedGesture recorded = RecordedGesture.parse(gesture.name,
+	                new BufferedReader(new StringReader(recording.toString())));
+	        return recorded.vertical == gesture.vertical ? recorded.size() : -1;
+	    }
+
+	    /**
+	     * Resets the pager to {@link #START_SCREEN}, replays the gesture with frames drawn every
+	     * {@link #FRAME_INTERVAL_MILLIS} and keeps drawing frames until the window is idle. The
+	     * clock only moves forward, so each replay starts a frame after the previous one ended.
+	     */
+	    void replay(final RecordedGesture gesture) {
+	        pager.setCurrentScreen(START_SCREEN, false);
+	        long frameTime = SystemClock.uptimeMillis() + FRAME_INTERVAL_MILLIS;
+	        frameTime = drawUntilIdle(frameTime, false);
+	        frames = 0;
+	        settleFrames = 0;
+
+	        final int size = gesture.size();
+	        if (size == 0) {
+	            return;
+	        }
+	        final long offset = frameTime - gesture.getTime(0);
+	        long downTime = frameTime;
+	        for (int i = 0; i < size; i++) {
+	            final long time = gesture.getTime(i) + offset;
+	            while (frameTime <= time) {
+	                drawFrame(frameTime, false);
+	                frameTime += FRAME_INTERVAL_MILLIS;
+	            }
+
+	            SystemClock.setUptimeMillis(time);
+	            final int action = gesture.getAction(i);
+	            if (action == MotionEvent.ACTION_DOWN) {
+	                downTime = time;
+	            }
+	            final MotionEvent event = MotionEvent.obtain(downTime, time, action,
+	                    gesture.getX(i), gesture.getY(i), 0);
+	            mRoot.dispatchTouchEvent(event);
+	            event.recycle();
+	        }
+	        drawUntilIdle(frameTime, true);
+	    }
+
+	    boolean isIdle() {
+	        return !mRoot.hasPendingWork();
+	    }
+
+	    void detach() {
+	        mRoot.detach();
+	    }
+
+	    /**
+	     * Draws frames until nothing is left to do: the animation has settled and the pages are
+	     * bound around the new screen.
+	     *
+	     * @return The time of the next frame.
+	     */
+	    private long drawUntilIdle(long frameTime, final boolean released) {
+	        for (int i = 0; !isIdle() && i < MAX_IDLE_FRAMES; i++) {
+	            drawFrame(frameTime, released);
+	            frameTime += FRAME_INTERVAL_MILLIS;
+	        }
+	        return frameTime;
+	    }
+
+	    private void drawFrame(final long time, final boolean released) {
+	        SystemClock.setUptimeMillis(time);
+	        final boolean scrolling = pager.isScrolling();
+	        if (mRoot.doFrame()) {
+	            frames++;
+	            if (released && scrolling) {
+	                settleFrames++;
+	            }
+	        }
+	    }
+	}
+
+	/**
+	 * Bytes allocated by the current thread, or -1 if the JVM can't tell.
+	 */
+	private static final class AllocationCounter {
+
+	    private final com.sun.management.ThreadMXBean mThreadBean;
+
+	    AllocationCounter() {
+	        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+	        if (bean instanceof com.sun.management.ThreadMXBean
+	                && ((com.sun.management.ThreadMXBean) bean)
+	                        .isThreadAllocatedMemorySupported()) {
+	            mThreadBean = (com.sun.management.ThreadMXBean) bean;
+	            mThreadBean.setThreadAllocatedMemoryEnabled(true);
+	        } else {
+	            mThreadBean = null;
+	        }
+	    }
+
+	    long get() {
+	        if (mThreadBean == null) {
+	            return -1;
+	        }
+	        return mThreadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	    }
+	}
+}
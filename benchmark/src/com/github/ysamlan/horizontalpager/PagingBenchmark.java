@@ -0,0 +1,293 @@
+package com.github.ysamlan.horizontalpager;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.DisplayMetrics;
+import android.view.MotionEvent;
+import android.view.View.MeasureSpec;
+import android.view.ViewRoot;
+import android.widget.FrameLayout;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Latency benchmark for the pager's hot paths, run on a plain JVM with the framework stand-ins in
+ * benchmark/android-fakes: {@code onMeasure}, {@code onLayout}, {@code computeScroll} and touch
+ * dispatch ({@code onInterceptTouchEvent} and {@code onTouchEvent}).
+ * <p>
+ * Each path is timed call by call on {@link HorizontalPager} and {@link VerticalPager} with 3 to
+ * 10,000 screens, given either as plain children or by a {@link AbstractPager.PageProvider}, in
+ * both scroll modes ({@link AbstractPager#setScrollMode(int)}). With plain children, measure and
+ * layout visit every child and the down event is hit-tested against every child, so they grow
+ * with the page count; with a provider only the pages around the current screen exist. Scrolling
+ * the container only touches the pager itself, while scrolling the pages moves those around the
+ * viewport. Touch samples follow a drag of half a screen and its release, which starts the snap.
+ * Scroll samples are the steps of that snap, one per 16 ms frame of a fake clock.
+ * <p>
+ * One JSON object is printed per line, the first one timing an empty interval so that the
+ * timer's own cost can be told apart:
+ *
+ * <pre>
+ * {"benchmark":"layout","axis":"horizontal","pages":"children","scroll":"pages","pageCount":1000,
+ *  "samples":20000,"meanNs":8913.2,"p50Ns":8601,"p90Ns":9203,"p99Ns":14350,"maxNs":50120}
+ * </pre>
+ *
+ * The numbers are for the stand-ins on a desktop JVM, not a device: compare them between
+ * revisions. On devices, use the counters printed by
+ * {@link AbstractPager#dump(java.io.PrintWriter)} and the trace sections.
+ */
+public final class PagingBenchmark {
+
+	private static final int[] PAGE_COUNTS = { 3, 10, 100, 1000, 10000 };
+	private static final String[] BENCHMARKS = { "measure", "layout", "computeScroll", "touch" };
+	private static final int MEASURE = 0;
+	private static final int LAYOUT = 1;
+	private static final int COMPUTE_SCROLL = 2;
+	private static final int TOUCH = 3;
+	private static final int[] SCROLL_MODES =
+	        { AbstractPager.SCROLL_MODE_CONTAINER, AbstractPager.SCROLL_MODE_PAGES };
+
+	private static final int WIDTH = 480;
+	private static final int HEIGHT = 800;
+	private static final long FRAME_INTERVAL_MILLIS = 16;
+	private static final int START_SCREEN = 1;
+	private static final int MOVES_PER_DRAG = 12;
+	private static final int MAX_IDLE_FRAMES = 100;
+	private static final int WARMUP_SAMPLES = 5000;
+	private static final int SAMPLES = 20000;
+
+	private static final long[] sSamples = new long[SAMPLES];
+
+	private PagingBenchmark() {
+	}
+
+	public static void main(final String[] args) {
+	    final Context context = new Context(new DisplayMetrics());
+	    final PrintStream out = System.out;
+
+	    for (int i = 0; i < WARMUP_SAMPLES; i++) {
+	        timeNothing();
+	    }
+	    for (int i = 0; i < SAMPLES; i++) {
+	        sSamples[i] = timeNothing();
+	    }
+	    report(out, "timer", null, null, 0, 0);
+
+	    for (int axis = 0; axis < 2; axis++) {
+	        final boolean vertical = axis == 1;
+	        for (int pages = 0; pages < 2; pages++) {
+	            final boolean provided = pages == 1;
+	            for (int mode = 0; mode < SCROLL_MODES.length; mode++) {
+	                for (int i = 0; i < PAGE_COUNTS.length; i++) {
+	                    run(out, new BenchmarkWindow(context, vertical, provided,
+	                            SCROLL_MODES[mode], PAGE_COUNTS[i]));
+	                }
+	            }
+	        }
+	    }
+	}
+
+	/**
+	 * Runs every benchmark on the window, reports them and detaches the window.
+	 */
+	private static void run(final PrintStream out, final BenchmarkWindow window) {
+	    for (int benchmark = 0; benchmark < BENCHMARKS.length; benchmark++) {
+	        for (int sample = 0; sample < WARMUP_SAMPLES; sample++) {
+	            window.time(benchmark);
+	        }
+	        for (int sample = 0; sample < SAMPLES; sample++) {
+	            sSamples[sample] = window.time(benchmark);
+	        }
+	        report(out, BENCHMARKS[benchmark], window.mVertical ? "vertical" : "horizontal",
+	                window.mProvided ? "provider" : "children", window.mScrollMode,
+	                window.mPageCount);
+	    }
+	    window.detach();
+	}
+
+	private static long timeNothing() {
+	    final long start = System.nanoTime();
+	    return System.nanoTime() - start;
+	}
+
+	/**
+	 * Prints the mean, the percentiles and the maximum of {@link #sSamples}.
+	 */
+	private static void report(final PrintStream out, final String benchmark, final String axis,
+	        final String pages, final int scrollMode, final int pageCount) {
+	    final long[] samples = sSamples;
+	    Arrays.sort(samples);
+	    long total = 0;
+	    for (int i = 0; i < samples.length; i++) {
+	        total += samples[i];
+	    }
+
+	    final StringBuilder line = new StringBuilder();
+	    line.append("{\"benchmark\":\"").append(benchmark).append('"');
+	    if (axis != null) {
+	        line.append(",\"axis\":\"").append(axis).append("\",\"pages\":\"").append(pages)
+	                .append("\",\"scroll\":\"")
+	                .append(scrollMode == AbstractPager.SCROLL_MODE_PAGES ? "pages" : "container")
+	                .append("\",\"pageCount\":").append(pageCount);
+	    }
+	    line.append(",\"samples\":").append(samples.length)
+	            .append(",\"meanNs\":").append(total / (double) samples.length)
+	            .append(",\"p50Ns\":").append(percentile(samples, 0.5))
+	            .append(",\"p90Ns\":").append(percentile(samples, 0.9))
+	            .append(",\"p99Ns\":").append(percentile(samples, 0.99))
+	            .append(",\"maxNs\":").append(samples[samples.length - 1]).append('}');
+	    out.println(line);
+	}
+
+	private static long percentile(final long[] sorted, final double fraction) {
+	    return sorted[(int) Math.ceil(fraction * sorted.length) - 1];
+	}
+
+	/**
+	 * A window holding a pager that fills it, with one benchmark step per call of
+	 * {@link #time(int)}. Work that isn't being measured, such as drawing frames until the pager
+	 * settles, happens outside the timed interval.
+	 */
+	private static final class BenchmarkWindow {
+
+	    final boolean mVertical;
+	    final boolean mProvided;
+	    final int mScrollMode;
+	    final int mPageCount;
+
+	    private final AbstractPager mPager;
+	    private final ViewRoot mRoot;
+	    private final int mWidthMeasureSpec =
+	            MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY);
+	    private final int mHeightMeasureSpec =
+	            MeasureSpec.makeMeasureSpec(HEIGHT, MeasureSpec.EXACTLY);
+
+	    // Touch: the next event of the current drag, and its start
+	    private int mTouchEvent;
+	    private long mDownTime;
+	    private int mDragDirection;
+
+	    BenchmarkWindow(final Context context, final boolean vertical, final boolean provided,
+	            final int scrollMode, final int pageCount) {
+	        mVertical = vertical;
+	        mProvided = provided;
+	        mScrollMode = scrollMode;
+	        mPageCount = pageCount;
+	        mPager = vertical ? new VerticalPager(context) : new HorizontalPager(context);
+	        if (provided) {
+	            mPager.setPageProvider(new RecyclingPageProvider(pageCount));
+	        } else {
+	            for (int i = 0; i < pageCount; i++) {
+	                mPager.addView(new TouchablePage(context));
+	            }
+	        }
+	        mPager.setScrollMode(scrollMode);
+	        mPager.setCurrentScreen(START_SCREEN, false);
+	        final FrameLayout content = new FrameLayout(context);
+	        content.addView(mPager);
+	        mRoot = new ViewRoot(content, WIDTH, HEIGHT);
+	        drawUntilIdle();
+	    }
+
+	    void detach() {
+	        mRoot.detach();
+	    }
+
+	    /**
+	     * Takes one sample of a benchmark.
+	     *
+	     * @return The time taken, in nanoseconds.
+	     */
+	    long time(final int benchmark) {
+	        switch (benchmark) {
+	            case MEASURE:
+	                return timeMeasure();
+	            case LAYOUT:
+	                return timeLayout();
+	            case COMPUTE_SCROLL:
+	                return timeComputeScroll();
+	            case TOUCH:
+	                return timeTouch();
+	            default:
+	                throw new IllegalArgumentException("Unknown benchmark " + benchmark);
+	        }
+	    }
+
+	    private long timeMeasure() {
+	        mPager.forceLayout();
+	        final long start = System.nanoTime();
+	        mPager.measure(mWidthMeasureSpec, mHeightMeasureSpec);
+	        return System.nanoTime() - start;
+	    }
+
+	    private long timeLayout() {
+	        // Measuring first makes the layout call onLayout even though the frame is unchanged
+	        mPager.forceLayout();
+	        mPager.measure(mWidthMeasureSpec, mHeightMeasureSpec);
+	        final long start = System.nanoTime();
+	        mPager.layout(0, 0, WIDTH, HEIGHT);
+	        return System.nanoTime() - start;
+	    }
+
+	    /**
+	     * Steps a snap between the start screen and the next one by a frame.
+	     */
+	    private long timeComputeScroll() {
+	        if (!mPager.isScrolling()) {
+	            drawUntilIdle();
+	            mPager.setCurrentScreen(mPager.getCurrentScreen() == START_SCREEN
+	                    ? START_SCREEN + 1 : START_SCREEN, true);
+	        }
+	        SystemClock.setUptimeMillis(SystemClock.uptimeMillis() + FRAME_INTERVAL_MILLIS);
+	        final long start = System.nanoTime();
+	        mPager.computeScroll();
+	        return System.nanoTime() - start;
+	    }
+
+	    /**
+	     * Delivers the next event of a drag over half a screen between the start screen and the
+	     * next one: a down event, {@link #MOVES_PER_DRAG} moves and the release. A frame is drawn
+	     * after each event, as on a device.
+	     */
+	    private long timeTouch() {
+	        if (mTouchEvent == 0) {
+	            drawUntilIdle();
+	        }
+	        final int size = mVertical ? HEIGHT : WIDTH;
+	        final long time = SystemClock.uptimeMillis() + FRAME_INTERVAL_MILLIS;
+	        final int action;
+	        if (mTouchEvent == 0) {
+	            mDragDirection = mPager.getCurrentScreen() == START_SCREEN ? -1 : 1;
+	            mDownTime = time;
+	            action = MotionEvent.ACTION_DOWN;
+	        } else {
+	            action = mTouchEvent <= MOVES_PER_DRAG
+	                    ? MotionEvent.ACTION_MOVE : MotionEvent.ACTION_UP;
+	        }
+	        final float along = size / 2f + mDragDirection
+	                * (size / 2f) * Math.min(mTouchEvent, MOVES_PER_DRAG) / MOVES_PER_DRAG;
+	        final float across = (mVertical ? WIDTH : HEIGHT) / 2f;
+	        mTouchEvent = action == MotionEvent.ACTION_UP ? 0 : mTouchEvent + 1;
+
+	        SystemClock.setUptimeMillis(time);
+	        final MotionEvent event = MotionEvent.obtain(mDownTime, time, action,
+	                mVertical ? across : along, mVertical ? along : across, 0);
+	        final long start = System.nanoTime();
+	        mRoot.dispatchTouchEvent(event);
+	        final long elapsed = System.nanoTime() - start;
+	        event.recycle();
+	        mRoot.doFrame();
+	        return elapsed;
+	    }
+
+	    /**
+	     * Draws frames until the pager has settled and bound its pages.
+	     */
+	    private void drawUntilIdle() {
+	        for (int i = 0; mRoot.hasPendingWork() && i < MAX_IDLE_FRAMES; i++) {
+	            SystemClock.setUptimeMillis(SystemClock.uptimeMillis() + FRAME_INTERVAL_MILLIS);
+	            mRoot.doFrame();
+	        }
+	    }
+	}
+}
@@ -0,0 +1,152 @@
+package com.github.ysamlan.horizontalpager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * A touch event stream for {@link GestureReplay}, stored as primitives so replaying it doesn't
+ * allocate.
+ * <p>
+ * The text format has one event per line, {@code <uptime millis> <action> <x> <y>}, with the
+ * action as the {@code MotionEvent} constant (0 down, 1 up, 2 move, 3 cancel) and the
+ * coordinates in the pager's. This is what {@link GestureRecorder} writes when installed with
+ * {@link AbstractPager#setGestureRecorder(GestureRecorder)}. Lines starting with {@code #} are
+ * comments, except for two directives:
+ *
+ * <pre>
+ * # axis vertical     (replay against a vertical pager; horizontal by default)
+ * # expect 3          (the screen the pager must settle on)
+ * </pre>
+ */
+final class RecordedGesture {
+
+	static final int ACTION_DOWN = 0;
+	static final int ACTION_UP = 1;
+	static final int ACTION_MOVE = 2;
+	static final int ACTION_CANCEL = 3;
+
+	/** {@link #expectedScreen} of a recording that doesn't declare one. */
+	static final int UNKNOWN_SCREEN = -1;
+
+	final String name;
+	boolean vertical;
+	int expectedScreen = UNKNOWN_SCREEN;
+	private long[] mTimes = new long[32];
+	private int[] mActions = new int[32];
+	private float[] mXs = new float[32];
+	private float[] mYs = new float[32];
+	private int mSize;
+
+	RecordedGesture(final String name) {
+	    this.name = name;
+	}
+
+	/**
+	 * Builds a straight single-finger stroke: a down event, evenly spaced moves and a final up (or
+	 * cancel) event at the end point.
+	 */
+	static RecordedGesture stroke(final String name, final boolean vertical,
+	        final int expectedScreen, final float fromX, final float fromY, final float toX,
+	        final float toY, final long durationMillis, final int moves, final boolean cancel) {
+	    final RecordedGesture gesture = new RecordedGesture(name);
+	    gesture.vertical = vertical;
+	    gesture.expectedScreen = expectedScreen;
+
+	    final long start = 1000;
+	    gesture.add(start, ACTION_DOWN, fromX, fromY);
+	    for (int i = 1; i <= moves; i++) {
+	        final float fraction = i / (float) moves;
+	        gesture.add(start + durationMillis * i / moves, ACTION_MOVE,
+	                fromX + (toX - fromX) * fraction, fromY + (toY - fromY) * fraction);
+	    }
+	    gesture.add(start + durationMillis + 1, cancel ? ACTION_CANCEL : ACTION_UP, toX, toY);
+	    return gesture;
+	}
+
+	/**
+	 * Reads a recording in the text format described above.
+	 *
+	 * @throws IOException If reading fails or a line can't be parsed.
+	 */
+	static RecordedGesture parse(final String name, final BufferedReader reader)
+	        throws IOException {
+	    final RecordedGesture gesture = new RecordedGesture(name);
+	    int lineNumber = 0;
+	    String line;
+	    while ((line = reader.readLine()) != null) {
+	        lineNumber++;
+	        line = line.trim();
+	        if (line.length() == 0) {
+	            continue;
+	        }
+	        final String[] fields = line.split("\\s+");
+	        try {
+	            if (fields[0].equals("#")) {
+	                if (fields.length == 3 && fields[1].equals("axis")) {
+	                    gesture.vertical = fields[2].equals("vertical");
+	                } else if (fields.length == 3 && fields[1].equals("expect")) {
+	                    gesture.expectedScreen = Integer.parseInt(fields[2]);
+	                }
+	            } else if (!fields[0].startsWith("#")) {
+	                if (fields.length != 4) {
+	                    throw new IOException(name + ":" + lineNumber + ": expected 4 fields");
+	                }
+	                gesture.add(Long.parseLong(fields[0]), Integer.parseInt(fields[1]),
+	                        Float.parseFloat(fields[2]), Float.parseFloat(fields[3]));
+	            }
+	        } catch (final NumberFormatException e) {
+	            throw new IOException(name + ":" + lineNumber + ": " + e.getMessage());
+	        }
+	    }
+	    return gesture;
+	}
+
+	void add(final long time, final int action, final float x, final float y) {
+	    if (mSize == mTimes.length) {
+	        final int capacity = mSize * 2;
+	        final long[] times = new long[capacity];
+	        System.arraycopy(mTimes, 0, times, 0, mSize);
+	        mTimes = times;
+	        mActions = grow(mActions, capacity);
+	        mXs = grow(mXs, capacity);
+	        mYs = grow(mYs, capacity);
+	    }
+	    mTimes[mSize] = time;
+	    mActions[mSize] = action;
+	    mXs[mSize] = x;
+	    mYs[mSize] = y;
+	    mSize++;
+	}
+
+	int size() {
+	    return mSize;
+	}
+
+	long getTime(final int index) {
+	    return mTimes[index];
+	}
+
+	int getAction(final int index) {
+	    return mActions[index];
+	}
+
+	float getX(final int index) {
+	    return mXs[index];
+	}
+
+	float getY(final int index) {
+	    return mYs[index];
+	}
+
+	private static int[] grow(final int[] array, final int capacity) {
+	    final int[] grown = new int[capacity];
+	    System.arraycopy(array, 0, grown, 0, array.length);
+	    return grown;
+	}
+
+	private static float[] grow(final float[] array, final int capacity) {
+	    final float[] grown = new float[capacity];
+	    System.arraycopy(array, 0, grown, 0, array.length);
+	    return grown;
+	}
+}
@@ -0,0 +1,43 @@
+package com.github.ysamlan.horizontalpager;
+
+import android.view.View;
+import android.view.ViewGroup;
+import java.util.ArrayList;
+
+/**
+ * Supplies {@link TouchablePage}s, reusing destroyed ones like an adapter's recycler.
+ */
+final class RecyclingPageProvider implements AbstractPager.PageProvider {
+
+	private final int mPageCount;
+	private final ArrayList<View> mRecycledPages = new ArrayList<View>();
+
+	RecyclingPageProvider(final int pageCount) {
+	    mPageCount = pageCount;
+	}
+
+	@Override
+	public int getPageCount() {
+	    return mPageCount;
+	}
+
+	@Override
+	public View createPage(final ViewGroup container, final int screen) {
+	    final int recycled = mRecycledPages.size();
+	    return recycled > 0 ? mRecycledPages.remove(recycled - 1)
+	            : new TouchablePage(container.getContext());
+	}
+
+	@Override
+	public void destroyPage(final ViewGroup container, final int screen, final View page) {
+	    mRecycledPages.add(page);
+	}
+
+	@Override
+	public void startUpdate(final ViewGroup container) {
+	}
+
+	@Override
+	public void finishUpdate(final ViewGroup container) {
+	}
+}
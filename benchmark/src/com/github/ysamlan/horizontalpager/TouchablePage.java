@@ -0,0 +1,21 @@
+package com.github.ysamlan.horizontalpager;
+
+import android.content.Context;
+import android.view.MotionEvent;
+import android.view.View;
+
+/**
+ * A page that consumes touches, like a list, so that the pager only gets a drag by intercepting
+ * it.
+ */
+final class TouchablePage extends View {
+
+	TouchablePage(final Context context) {
+	    super(context);
+	}
+
+	@Override
+	public boolean onTouchEvent(final MotionEvent event) {
+	    return true;
+	}
+}
@@ -1,27 +1,71 @@
 package com.github.ysamlan.horizontalpager;
 
+import java.io.PrintWriter;
+import java.util.ArrayList;
+
 import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Parcelable;
+import android.os.SystemClock;
 import android.util.AttributeSet;
-import android.util.DisplayMetrics;
-import android.view.Display;
+import android.util.SparseArray;
 import android.view.MotionEvent;
 import android.view.VelocityTracker;
 import android.view.View;
-import android.view.ViewConfiguration;
 import android.view.ViewGroup;
-import android.view.WindowManager;
+import android.view.ViewTreeObserver;
+import android.view.animation.Transformation;
 import android.widget.Scroller;
 
 public abstract class AbstractPager extends ViewGroup {
 
-	protected static final int ANIMATION_SCREEN_SET_DURATION_MILLIS = 500;
-	protected static final int FRACTION_OF_SCREEN_WIDTH_FOR_SWIPE = 4;
+	protected static final int ANIMATION_SCREEN_SET_DURATION_MILLIS =
+	        PagingEngine.ANIMATION_SCREEN_SET_DURATION_MILLIS;
+	protected static final int FRACTION_OF_SCREEN_WIDTH_FOR_SWIPE =
+	        PagingEngine.FRACTION_OF_SCREEN_WIDTH_FOR_SWIPE;
+	protected static final int MIN_SCREENS_FOR_WRAP_AROUND = 3;
+	protected static final int MAX_SCROLL_OFFSET = 1 << 24;
+	protected static final int OFFSCREEN_PAGE_LIMIT = 1;
 	protected static final int INVALID_SCREEN = -1;
 	protected static final int SNAP_VELOCITY_DIP_PER_SECOND = 600;
 	protected static final int VELOCITY_UNIT_PIXELS_PER_SECOND = 1000;
 	protected static final int TOUCH_STATE_REST = 0;
 	protected static final int TOUCH_STATE_HORIZONTAL_SCROLLING = 1;
 	protected static final int TOUCH_STATE_VERTICAL_SCROLLING = -1;
+
+	/**
+	 * Scroll mode in which the whole pager scrolls its content with {@link View#scrollTo(int, int)}.
+	 */
+	public static final int SCROLL_MODE_CONTAINER = 0;
+
+	/**
+	 * Scroll mode in which the pager itself stays still and only the pages are moved.
+	 */
+	public static final int SCROLL_MODE_PAGES = 1;
+
+	/** Trace section around {@link #onMeasure(int, int)}. */
+	public static final String TRACE_MEASURE = "Pager:measure";
+	/** Trace section around {@link #onLayout(boolean, int, int, int, int)}. */
+	public static final String TRACE_LAYOUT = "Pager:layout";
+	/**
+	 * Trace section around re-binding pages: to slots while scrolling in circular mode, and to the
+	 * window around the current screen with a {@link PageProvider}.
+	 */
+	public static final String TRACE_BIND_PAGES = "Pager:bindPages";
+	/** Trace section around {@link #onInterceptTouchEvent(MotionEvent)}. */
+	public static final String TRACE_INTERCEPT = "Pager:intercept";
+	/** Trace section around {@link #onTouchEvent(MotionEvent)}. */
+	public static final String TRACE_TOUCH = "Pager:touch";
+	/** Trace section around the snap/fling decision when a drag ends. */
+	public static final String TRACE_SNAP = "Pager:snap";
+	/** Trace section around {@link #computeScroll()}, i.e. one animation step. */
+	public static final String TRACE_SCROLL = "Pager:scroll";
+	/** Trace section around the {@link PageTransformer} pass. */
+	public static final String TRACE_TRANSFORM = "Pager:transform";
+	/** Trace section around drawing the pages; ends a frame for {@link RecordingTracer}. */
+	public static final String TRACE_DRAW = "Pager:draw";
+
 	protected int mCurrentScreen;
 	protected int mDensityAdjustedSnapVelocity;
 	protected boolean mFirstLayout = true;
@@ -30,241 +74,1369 @@ public abstract class AbstractPager extends ViewGroup {
 	protected OnScreenSwitchListener mOnScreenSwitchListener;
 	protected int mMaximumVelocity;
 	protected int mNextScreen = INVALID_SCREEN;
+	protected PagingEngine mPagingEngine;
 	protected Scroller mScroller;
 	protected int mTouchSlop;
 	protected int mTouchState = TOUCH_STATE_REST;
 	protected VelocityTracker mVelocityTracker;
 	protected int mLastSeenLayoutWidth = -1;
 	protected int mLastSeenLayoutHeight = -1;
+	protected boolean mWrapAround;
+	protected int mWrappedLayoutCenterScreen;
+	protected int mScrollOriginScreen;
+	protected int mScrollMode = SCROLL_MODE_CONTAINER;
+	protected int mPagesScrollOffset;
+	protected PageTransformer mPageTransformer;
+	protected OnPageScrollListener mOnPageScrollListener;
+	protected View[] mTransformedPages;
+	protected Transformation[] mPageTransformations;
+	protected int mTransformedPageCount;
+	protected boolean mPageTransformsValid;
+	protected boolean mPagesOpaque;
+	private final Rect mVisibleSlice = new Rect();
+	/** Area touched by the pages moved in the current {@link #SCROLL_MODE_PAGES} step. */
+	private final Rect mDirtyRect = new Rect();
+	protected int mLastTransformedScrollOffset;
+	protected int mPendingNavigationScreen = INVALID_SCREEN;
+	protected int mMergedNavigationCount;
+	protected boolean mDispatchingScreenSwitch;
+
+	protected AbstractPager mScrollSource;
+	protected final ArrayList<AbstractPager> mLinkedPagers = new ArrayList<AbstractPager>();
+	protected boolean mScrollStepped;
+	protected GestureMetrics mGestureMetrics;
+	protected GestureRecorder mGestureRecorder;
+	protected final PagerCounters mCounters = new PagerCounters();
+	protected PagerTracer mTracer;
+
+	protected PageProvider mPageProvider;
+	protected int[] mPageScreens;
+	// Created with the first provider, so that pagers without one stay cheap to construct
+	protected SparseArray<SparseArray<Parcelable>> mSavedPageStates;
+	/** Emptied containers for saved page states, reused so that binding pages doesn't allocate. */
+	private ArrayList<SparseArray<Parcelable>> mSparePageStates;
+	protected int mBoundScreen = INVALID_SCREEN;
+	protected boolean mBindPagesPending;
+
+	private final ViewTreeObserver.OnPreDrawListener mLinkedScrollStepper =
+	        new ViewTreeObserver.OnPreDrawListener() {
+	            @Override
+	            public boolean onPreDraw() {
+	                stepLinkedScroll();
+	                return true;
+	            }
+	        };
+
+	private final Runnable mNavigationRunnable = new Runnable() {
+	    @Override
+	    public void run() {
+	        flushNavigation();
+	    }
+	};
+
+	private final Runnable mBindPagesRunnable = new Runnable() {
+	    @Override
+	    public void run() {
+	        bindPageWindow();
+	    }
+	};
+
+	/**
+	 * Listener for the event that the HorizontalPager switches to a new view.
+	 */
+	public static interface OnScreenSwitchListener {
+	    /**
+	     * Notifies listeners about the new screen. Runs after the animation completed.
+	     *
+	     * @param screen The new screen index.
+	     */
+	    void onScreenSwitched(int screen);
+	}
+
+	/**
+	 * Listener for every change of the scroll position, e.g. to drive a page indicator.
+	 */
+	public static interface OnPageScrollListener {
+	    /**
+	     * Notifies listeners that the pager scrolled. Runs on every frame of a drag or animation.
+	     * The position is split into a screen and a fraction so that it stays exact for any number
+	     * of screens; halfway between the second and the third screen is (1, 0.5).
+	     *
+	     * @param screen The screen at or before the viewport's leading edge, see
+	     *            {@link AbstractPager#getScrollScreen()}.
+	     * @param fraction How far the viewport has moved past that screen, from 0 (inclusive) to 1.
+	     */
+	    void onPageScrolled(int screen, float fraction);
+	}
+
+	/**
+	 * Receives timing measurements for each drag gesture or programmatic snap, from its start
+	 * until the resulting {@link OnScreenSwitchListener#onScreenSwitched(int)}.
+	 */
+	public static interface GestureMetricsSink {
+	    /** A drag (and optional fling) by the user. */
+	    int GESTURE_DRAG = 0;
+	    /** An animation started from code, e.g. by {@link AbstractPager#setCurrentScreen}. */
+	    int GESTURE_SNAP = 1;
+
+	    /**
+	     * Reports a finished gesture. Runs on the UI thread right after the screen switch.
+	     *
+	     * @param gesture {@link #GESTURE_DRAG} or {@link #GESTURE_SNAP}.
+	     * @param moveToScrollMillis Time from the first ACTION_MOVE to the first scroll, or -1 for
+	     *            snaps and drags that never scrolled.
+	     * @param releaseToSwitchMillis Time from ACTION_UP (or the start of a snap) to the screen
+	     *            switch.
+	     * @param frames Frames drawn during the gesture.
+	     * @param missedFrames Frames drawn more than 17 ms (one frame at 60 fps) after the
+	     *            previous one.
+	     * @param maxFrameGapMillis Largest time between two consecutive frames.
+	     */
+	    void onGestureMeasured(int gesture, long moveToScrollMillis, long releaseToSwitchMillis,
+	            int frames, int missedFrames, long maxFrameGapMillis);
+	}
+
+	/**
+	 * Hook for visual effects (parallax, depth, fades, ...) that depend on where a page is relative
+	 * to the viewport. Called at most once per frame for each page within
+	 * {@link AbstractPager#OFFSCREEN_PAGE_LIMIT} screens of the visible one, and not at all for
+	 * frames in which the scroll offset didn't change.
+	 */
+	public static interface PageTransformer {
+	    /**
+	     * Fills in the transformation applied when drawing a page. Must not allocate.
+	     *
+	     * @param page The page.
+	     * @param position The page's position relative to the viewport, in screens: 0 when it is
+	     *            fully visible, -1 when it is one screen before and 1 when one screen after.
+	     * @param transformation The transformation to fill in; reset to identity beforehand.
+	     */
+	    void transformPage(View page, float position, Transformation transformation);
+	}
+
+	/**
+	 * Supplies pages on demand for {@link AbstractPager#setPageProvider(PageProvider)}, so that only
+	 * the pages within {@link AbstractPager#OFFSCREEN_PAGE_LIMIT} screens of the current one exist
+	 * as views. Pages are created and destroyed in one batch after the pager settles on a screen,
+	 * or before it starts a snap to a screen further away.
+	 */
+	public static interface PageProvider {
+	    /**
+	     * @return The number of screens.
+	     */
+	    int getPageCount();
+
+	    /**
+	     * Creates the view for a screen. The pager adds it to itself and restores the state saved
+	     * when the screen was last destroyed; only views with an id keep their state.
+	     *
+	     * @param container The pager.
+	     * @param screen The screen index.
+	     * @return The page.
+	     */
+	    View createPage(ViewGroup container, int screen);
+
+	    /**
+	     * Notifies that a page left the offscreen window. Its state has been saved and it has been
+	     * removed from the pager; release whatever it holds.
+	     *
+	     * @param container The pager.
+	     * @param screen The screen index.
+	     * @param page The page created for the screen.
+	     */
+	    void destroyPage(ViewGroup container, int screen, View page);
+
+	    /**
+	     * Called before the pager creates or destroys a batch of pages.
+	     *
+	     * @param container The pager.
+	     */
+	    void startUpdate(ViewGroup container);
+
+	    /**
+	     * Called once the pager is done creating and destroying a batch of pages, e.g. to commit
+	     * work queued by {@link #createPage} and {@link #destroyPage}.
+	     *
+	     * @param container The pager.
+	     */
+	    void finishUpdate(ViewGroup container);
+	}
+
+	public AbstractPager(Context context) {
+		super(context);
+		init();
+	}
+
+	public AbstractPager(Context context, AttributeSet attrs) {
+		super(context, attrs);
+		init();
+	}
+
+	/**
+	 * Sets up the touch/fling sensitivity parameters for the pager. The scroller is created lazily
+	 * on first use; see {@link #getScroller()}.
+	 */
+	protected void init() {
+	    final PagerConfiguration configuration = PagerConfiguration.get(getContext());
+	    mDensityAdjustedSnapVelocity = configuration.densityAdjustedSnapVelocity;
+	    mTouchSlop = configuration.touchSlop;
+	    mMaximumVelocity = configuration.maximumVelocity;
+	    mPagingEngine = new PagingEngine(mTouchSlop, mDensityAdjustedSnapVelocity);
+	    mTracer = PlatformTracer.get();
+	}
+
+	/**
+	 * Returns the scroller used to animate between screens, creating it on first use so that pagers
+	 * which are never touched or animated (e.g. rows flung past in a list) don't pay for one.
+	 *
+	 * @return The scroller.
+	 */
+	protected Scroller getScroller() {
+	    if (mScroller == null) {
+	        mScroller = new Scroller(getContext());
+	    }
+	    return mScroller;
+	}
+
+	/**
+	 * @return True if a snap or fling animation is currently running.
+	 */
+	protected boolean isScrolling() {
+	    return mScroller != null && !mScroller.isFinished();
+	}
+
+	/**
+	 * Returns the pager to the state it had right after construction, keeping its children. Use this
+	 * to rebind a pager embedded in a recycled list row instead of inflating a new one.
+	 */
+	public void reset() {
+	    if (mScroller != null) {
+	        mScroller.abortAnimation();
+	    }
+	    if (mVelocityTracker != null) {
+	        mVelocityTracker.recycle();
+	        mVelocityTracker = null;
+	    }
+	    removeCallbacks(mNavigationRunnable);
+	    mPendingNavigationScreen = INVALID_SCREEN;
+	    mTouchState = TOUCH_STATE_REST;
+	    mNextScreen = INVALID_SCREEN;
+	    mCurrentScreen = 0;
+	    mScrollOriginScreen = 0;
+	    mPagesScrollOffset = 0;
+	    if (mPageProvider != null) {
+	        // Start over with fresh pages and no saved state
+	        removeCallbacks(mBindPagesRunnable);
+	        destroyAllPages();
+	        bindPageWindow();
+	    }
+	    scrollTo(0, 0);
+	    syncLinkedScreens();
+	    requestLayout();
+	}
+	
+	protected abstract void onFirstLayout(int width, int height);
+
+	/**
+	 * @return The size of a single screen along the paging axis.
+	 */
+	protected abstract int getPageSize();
+
+	/**
+	 * @return The pager's own scroll offset along the paging axis.
+	 */
+	protected abstract int getContainerScrollOffset();
+
+	/**
+	 * Scrolls the pager itself to the given offset along the paging axis.
+	 *
+	 * @param offset The new scroll offset, in pixels.
+	 */
+	protected abstract void scrollContainerTo(int offset);
+
+	/**
+	 * Moves a child along the paging axis without re-laying it out.
+	 *
+	 * @param child The child to move.
+	 * @param delta The distance to move it by, in pixels.
+	 */
+	protected abstract void offsetPage(View child, int delta);
+
+	/**
+	 * @param child The child.
+	 * @return The offset of the child's leading edge along the paging axis, in pixels.
+	 */
+	protected abstract int getPageOffset(View child);
+
+	/**
+	 * @return The scroller's current position along the paging axis.
+	 */
+	protected abstract int getScrollerOffset();
+
+	/**
+	 * Starts the scroller along the paging axis.
+	 *
+	 * @param from The offset to start from, in pixels.
+	 * @param delta The distance to scroll, in pixels.
+	 * @param duration The duration of the scroll, in milliseconds.
+	 */
+	protected abstract void startScroll(int from, int delta, int duration);
+
+	/**
+	 * @return The touch state of a drag along the paging axis, either
+	 *         {@link #TOUCH_STATE_HORIZONTAL_SCROLLING} or {@link #TOUCH_STATE_VERTICAL_SCROLLING}.
+	 */
+	protected abstract int getScrollingTouchState();
+
+	/**
+	 * Chooses how scrolling is applied. {@link #SCROLL_MODE_CONTAINER} (the default) scrolls the
+	 * pager, which invalidates the pager and everything in it on every frame.
+	 * {@link #SCROLL_MODE_PAGES} keeps the pager still and moves only the pages within
+	 * {@link #OFFSCREEN_PAGE_LIMIT} screens of the viewport, invalidating just the area they
+	 * cover. Which one is cheaper depends on the pages; {@link #dump(PrintWriter)} counts the
+	 * container scrolls and page moves so the two can be compared on a device.
+	 *
+	 * @param scrollMode {@link #SCROLL_MODE_CONTAINER} or {@link #SCROLL_MODE_PAGES}.
+	 */
+	public void setScrollMode(final int scrollMode) {
+	    if (scrollMode != SCROLL_MODE_CONTAINER && scrollMode != SCROLL_MODE_PAGES) {
+	        throw new IllegalArgumentException("Unknown scroll mode: " + scrollMode);
+	    }
+	    if (scrollMode == mScrollMode) {
+	        return;
+	    }
+
+	    // Carry the current position over to the new mode
+	    final int offset = getScrollOffset();
+	    mScrollMode = scrollMode;
+	    if (scrollMode == SCROLL_MODE_PAGES) {
+	        // Set first, so that the scroll callback reports the same position, not the origin
+	        mPagesScrollOffset = offset;
+	        scrollContainerTo(0);
+	    } else {
+	        mPagesScrollOffset = 0;
+	        scrollContainerTo(offset);
+	    }
+	    layoutPages();
+	    invalidate();
+	}
+
+	/**
+	 * @return The current scroll mode.
+	 */
+	public int getScrollMode() {
+	    return mScrollMode;
+	}
+
+	/**
+	 * @return The current scroll offset along the paging axis, whichever scroll mode is used.
+	 */
+	protected int getScrollOffset() {
+	    if (mScrollMode == SCROLL_MODE_PAGES) {
+	        return mPagesScrollOffset;
+	    }
+	    return getContainerScrollOffset();
+	}
+
+	/**
+	 * Scrolls to the given offset along the paging axis, whichever scroll mode is used.
+	 *
+	 * @param offset The new scroll offset, in pixels.
+	 */
+	protected void scrollToOffset(final int offset) {
+	    if (mScrollMode != SCROLL_MODE_PAGES) {
+	        scrollContainerTo(offset);
+	        mCounters.containerScrolls++;
+	        return;
+	    }
+
+	    if (offset == mPagesScrollOffset) {
+	        return;
+	    }
+	    final int previousCenter = getCenterScreenSlot();
+	    mPagesScrollOffset = offset;
+	    final int center = getCenterScreenSlot();
+
+	    /*
+	     * Only the pages around the viewport can be visible, so only those are moved. A page that
+	     * leaves the window is moved once more on the way out, which leaves it off-screen until it
+	     * comes back into the window and is positioned again. In circular mode a change of center
+	     * re-lays out every page anyway.
+	     */
+	    mDirtyRect.setEmpty();
+	    positionWindowPages(previousCenter);
+	    if (center != previousCenter && !isWrapping()) {
+	        positionWindowPages(center);
+	    }
+	    if (mDirtyRect.intersect(0, 0, getWidth(), getHeight())) {
+	        // offsetLeftAndRight() and offsetTopAndBottom() don't invalidate before API 11
+	        invalidate(mDirtyRect);
+	    }
+	    onScrollOffsetChanged();
+	}
+
+	/**
+	 * Moves the pages within {@link #OFFSCREEN_PAGE_LIMIT} screens of the given slot to their
+	 * place for the current {@link #mPagesScrollOffset}, adding the area they cover before and
+	 * after the move to {@link #mDirtyRect}.
+	 */
+	private void positionWindowPages(final int center) {
+	    for (int slot = center - OFFSCREEN_PAGE_LIMIT; slot <= center + OFFSCREEN_PAGE_LIMIT; slot++) {
+	        final int index = getChildIndexForSlot(slot);
+	        if (index == INVALID_SCREEN) {
+	            continue;
+	        }
+	        final View page = getChildAt(index);
+	        final int delta = getScrollOffsetForSlot(slot) - mPagesScrollOffset - getPageOffset(page);
+	        if (delta == 0 || page.getVisibility() == View.GONE) {
+	            continue;
+	        }
+	        mDirtyRect.union(page.getLeft(), page.getTop(), page.getRight(), page.getBottom());
+	        offsetPage(page, delta);
+	        mDirtyRect.union(page.getLeft(), page.getTop(), page.getRight(), page.getBottom());
+	        mCounters.pagesOffset++;
+	    }
+	}
+
+	/**
+	 * Scrolls by the given distance along the paging axis.
+	 *
+	 * @param delta The distance to scroll, in pixels.
+	 */
+	protected void scrollByOffset(final int delta) {
+	    scrollToOffset(getScrollOffset() + delta);
+	}
+
+	/**
+	 * Lays out a child so that it starts at the given offset along the paging axis.
+	 *
+	 * @param child The child to position.
+	 * @param offset The offset of the child's leading edge, in pixels.
+	 */
+	protected abstract void layoutPage(View child, int offset);
+
+	/**
+	 * Enables or disables circular paging. When enabled, swiping past the last screen continues
+	 * with the first one (and vice versa) without needing duplicate views: the screens are laid out
+	 * around whichever screen is closest to the viewport, so the neighbours on both sides are always
+	 * in place. Requires at least {@link #MIN_SCREENS_FOR_WRAP_AROUND} screens; with fewer, the
+	 * pager behaves as if wrap-around were off.
+	 *
+	 * @param wrapAround True to page circularly.
+	 */
+	public void setWrapAround(final boolean wrapAround) {
+	    mWrapAround = wrapAround;
+
+	    // Leaving circular mode may leave us scrolled to a slot outside of the children
+	    setCurrentScreen(mCurrentScreen, false);
+	    // The window now does or doesn't wrap around the ends
+	    mBoundScreen = INVALID_SCREEN;
+	    scheduleBindPages();
+	    requestLayout();
+	}
+
+	/**
+	 * @return True if circular paging was requested with {@link #setWrapAround(boolean)}.
+	 */
+	public boolean isWrapAround() {
+	    return mWrapAround;
+	}
+
+	/**
+	 * @return True if the pager is currently paging circularly.
+	 */
+	protected boolean isWrapping() {
+	    return mWrapAround && getScreenCount() >= MIN_SCREENS_FOR_WRAP_AROUND;
+	}
+
+	/**
+	 * Maps a possibly out-of-range screen index onto an actual screen, wrapping around in circular
+	 * mode and clamping otherwise.
+	 *
+	 * @param screen The screen index.
+	 * @return The screen index; without a {@link PageProvider}, the index of the child showing it.
+	 */
+	protected int normalizeScreen(final int screen) {
+	    final int count = getScreenCount();
+	    if (isWrapping()) {
+	        final int index = screen % count;
+	        return index < 0 ? index + count : index;
+	    }
+	    return Math.max(0, Math.min(screen, count - 1));
+	}
+
+	/**
+	 * Returns the shortest signed distance, in screens, from one child index to another when
+	 * wrapping. The result lies between -(count - 1) / 2 and count / 2.
+	 */
+	private int getWrappedDistance(final int from, final int to) {
+	    final int count = getScreenCount();
+	    int distance = (to - from) % count;
+	    if (distance > count / 2) {
+	        distance -= count;
+	    } else if (distance < -(count - 1) / 2) {
+	        distance += count;
+	    }
+	    return distance;
+	}
+
+	/**
+	 * @return The virtual screen slot closest to the current scroll offset. Outside of circular
+	 *         mode slots and child indices are the same; in circular mode slots are unbounded.
+	 */
+	protected int getCenterScreenSlot() {
+	    final int pageSize = getPageSize();
+	    if (pageSize == 0) {
+	        return mCurrentScreen;
+	    }
+	    return mScrollOriginScreen + (int) Math.round(getScrollOffset() / (double) pageSize);
+	}
+
+	/**
+	 * Returns the scroll offset at which the given slot is fully visible. Offsets are measured from
+	 * the scroll origin rather than from slot 0, so they stay small no matter how many screens
+	 * there are or how far a circular pager has been spun.
+	 *
+	 * @param slot The virtual screen slot.
+	 * @return The scroll offset of the slot, clamped to +/- {@link #MAX_SCROLL_OFFSET} times two.
+	 */
+	protected int getScrollOffsetForSlot(final int slot) {
+	    return getScrollOffsetForSlot(slot, getPageSize());
+	}
+
+	/**
+	 * Like {@link #getScrollOffsetForSlot(int)}, for a page size other than the current one.
+	 */
+	protected int getScrollOffsetForSlot(final int slot, final int pageSize) {
+	    final long offset = ((long) slot - mScrollOriginScreen) * pageSize;
+	    return (int) Math.max(-2L * MAX_SCROLL_OFFSET, Math.min(offset, 2L * MAX_SCROLL_OFFSET));
+	}
+
+	/**
+	 * Moves the scroll origin to the given slot and scrolls there instantly, re-laying out the
+	 * children relative to the new origin.
+	 *
+	 * @param slot The slot to show.
+	 */
+	protected void jumpToSlot(final int slot) {
+	    mScrollOriginScreen = slot;
+	    scrollToOffset(0);
+	    layoutPages();
+	}
+
+	/**
+	 * Scrolls instantly to the given slot, moving the scroll origin first if the slot is too far
+	 * away to be addressed directly.
+	 *
+	 * @param slot The slot to show.
+	 */
+	protected void scrollToSlot(final int slot) {
+	    final long offset = ((long) slot - mScrollOriginScreen) * getPageSize();
+	    if (Math.abs(offset) > MAX_SCROLL_OFFSET) {
+	        jumpToSlot(slot);
+	    } else {
+	        scrollToOffset((int) offset);
+	    }
+	}
+
+	/**
+	 * Returns the scroll offset a snap to the given screen should animate to. If the target is so
+	 * far away that the distance can't be expressed safely, the pager first jumps to the slot next
+	 * to it so that only the last screen is animated.
+	 *
+	 * @param whichScreen The requested screen; may be out of range in circular mode.
+	 * @return The scroll offset to animate to.
+	 */
+	protected int getSnapTargetOffset(final int whichScreen) {
+	    final int slot = getSnapTargetSlot(whichScreen);
+	    final long distance = ((long) slot - getCenterScreenSlot()) * getPageSize();
+	    if (Math.abs(distance) > MAX_SCROLL_OFFSET) {
+	        jumpToSlot(distance > 0 ? slot - 1 : slot + 1);
+	    }
+	    return getScrollOffsetForSlot(slot);
+	}
+
+	/**
+	 * Returns the virtual slot a snap to the given screen should scroll to. In circular mode this is
+	 * the slot reached by moving the shortest way around from the current screen, so a fling from
+	 * the last screen to screen "count" lands smoothly on the first one.
+	 *
+	 * @param whichScreen The requested screen; may be out of range in circular mode.
+	 * @return The slot to scroll to.
+	 */
+	protected int getSnapTargetSlot(final int whichScreen) {
+	    if (!isWrapping()) {
+	        return normalizeScreen(whichScreen);
+	    }
+	    final int center = getCenterScreenSlot();
+	    final int currentSlot =
+	            center + getWrappedDistance(normalizeScreen(center), mCurrentScreen);
+	    return currentSlot + getWrappedDistance(mCurrentScreen, normalizeScreen(whichScreen));
+	}
+
+	/**
+	 * @return The virtual slot the current screen occupies nearest to the viewport.
+	 */
+	protected int getCurrentScreenSlot() {
+	    return getSnapTargetSlot(mCurrentScreen);
+	}
+
+	/**
+	 * Sets the {@link PageTransformer} used to draw the pages, or null to draw them unchanged.
+	 *
+	 * @param pageTransformer The page transformer.
+	 */
+	public void setPageTransformer(final PageTransformer pageTransformer) {
+	    mPageTransformer = pageTransformer;
+	    setStaticTransformationsEnabled(pageTransformer != null);
+	    if (pageTransformer != null && mPageTransformations == null) {
+	        final int windowSize = 2 * OFFSCREEN_PAGE_LIMIT + 1;
+	        mTransformedPages = new View[windowSize];
+	        mPageTransformations = new Transformation[windowSize];
+	        for (int i = 0; i < windowSize; i++) {
+	            mPageTransformations[i] = new Transformation();
+	        }
+	    }
+	    mPageTransformsValid = false;
+	    invalidate();
+	}
+
+	/**
+	 * Declares that every page paints all of its pixels opaquely, e.g. because each has an opaque
+	 * background.
+	 * <p>
+	 * While the visible pages cover the viewport, the pager then reports itself as opaque, so on
+	 * API level 7 and up the views and the window background behind it aren't repainted when it
+	 * scrolls. Older platforms don't ask views whether they are opaque.
+	 *
+	 * @param pagesOpaque Whether all pages are opaque.
+	 */
+	public void setPagesOpaque(final boolean pagesOpaque) {
+	    mPagesOpaque = pagesOpaque;
+	    invalidate();
+	}
+
+	/**
+	 * Returns the index of the child shown in the given slot.
+	 *
+	 * @param slot The virtual screen slot.
+	 * @return The child index, or {@link #INVALID_SCREEN} if the slot is empty.
+	 */
+	protected int getChildIndexForSlot(final int slot) {
+	    final int screen;
+	    if (isWrapping()) {
+	        screen = normalizeScreen(slot);
+	    } else if (slot >= 0 && slot < getScreenCount()) {
+	        screen = slot;
+	    } else {
+	        return INVALID_SCREEN;
+	    }
+	    return mPageProvider != null ? indexOfPage(screen) : screen;
+	}
+
+	/**
+	 * @param index The child index.
+	 * @return The screen the child shows.
+	 */
+	protected int getScreenForChildIndex(final int index) {
+	    return mPageProvider != null ? mPageScreens[index] : index;
+	}
+
+	/**
+	 * @return The number of screens: the number of children, or the provider's page count.
+	 */
+	public int getScreenCount() {
+	    return mPageProvider != null ? mPageProvider.getPageCount() : getChildCount();
+	}
+
+	/**
+	 * Runs the page transformer over the pages in the offscreen window, unless nothing moved since
+	 * the last pass.
+	 */
+	protected void transformPages() {
+	    mTracer.beginSection(TRACE_TRANSFORM);
+	    try {
+	        final int scrollOffset = getScrollOffset();
+	        if (mPageTransformsValid && scrollOffset == mLastTransformedScrollOffset) {
+	            return;
+	        }
+
+	        final int pageSize = getPageSize();
+	        final int center = getCenterScreenSlot();
+	        int transformed = 0;
+
+	        final int last = center + OFFSCREEN_PAGE_LIMIT;
+	        for (int slot = center - OFFSCREEN_PAGE_LIMIT; slot <= last; slot++) {
+	            final int index = getChildIndexForSlot(slot);
+	            if (index == INVALID_SCREEN || pageSize == 0) {
+	                continue;
+	            }
+	            final View page = getChildAt(index);
+	            final Transformation transformation = mPageTransformations[transformed];
+	            transformation.clear();
+	            mPageTransformer.transformPage(page,
+	                    (getScrollOffsetForSlot(slot, pageSize) - scrollOffset) / (float) pageSize,
+	                    transformation);
+	            mTransformedPages[transformed++] = page;
+	        }
+	        for (int i = transformed; i < mTransformedPageCount; i++) {
+	            mTransformedPages[i] = null;
+	        }
+
+	        mTransformedPageCount = transformed;
+	        mLastTransformedScrollOffset = scrollOffset;
+	        mPageTransformsValid = true;
+	    } finally {
+	        mTracer.endSection();
+	    }
+	}
+
+	@Override
+	protected void dispatchDraw(final Canvas canvas) {
+	    mTracer.beginSection(TRACE_DRAW);
+	    try {
+	        if (mGestureMetrics != null) {
+	            mGestureMetrics.onFrame(SystemClock.uptimeMillis(), isScrolling());
+	        }
+	        if (mPageTransformer != null) {
+	            transformPages();
+	        }
+	        if (isOpaque()) {
+	            mCounters.opaqueFrames++;
+	            mCounters.overdrawPixelsSaved += (long) getWidth() * getHeight();
+	        }
+	        super.dispatchDraw(canvas);
+	    } finally {
+	        mTracer.endSection();
+	    }
+	}
+
+	/**
+	 * Reports the pager as opaque while pages declared opaque with {@link #setPagesOpaque(boolean)}
+	 * cover the viewport. Only the pages in the offscreen window are checked, since no other page
+	 * can be visible.
+	 * <p>
+	 * View.isOpaque() was added in API level 7, above this project's build target, so this can't
+	 * be marked as an override; on newer platforms it overrides it all the same.
+	 *
+	 * @return Whether the pager paints every pixel of its viewport opaquely.
+	 */
+	public boolean isOpaque() {
+	    final int width = getWidth();
+	    final int height = getHeight();
+	    if (!mPagesOpaque || mPageTransformer != null || width == 0 || height == 0) {
+	        return false;
+	    }
+
+	    final int center = getCenterScreenSlot();
+	    long covered = 0;
+	    for (int slot = center - OFFSCREEN_PAGE_LIMIT; slot <= center + OFFSCREEN_PAGE_LIMIT; slot++) {
+	        final int index = getChildIndexForSlot(slot);
+	        if (index == INVALID_SCREEN) {
+	            continue;
+	        }
+	        final View page = getChildAt(index);
+	        if (page.getVisibility() != VISIBLE || !getVisibleSlice(page, mVisibleSlice)) {
+	            continue;
+	        }
+	        if (page.getAnimation() != null) {
+	            return false;
+	        }
+	        covered += (long) mVisibleSlice.width() * mVisibleSlice.height();
+	    }
+	    // Pages never overlap, so covering the area means covering the viewport
+	    return covered >= (long) width * height;
+	}
+
+	/**
+	 * Computes the part of a page that lies inside the viewport, in the pager's coordinates.
+	 *
+	 * @param page The page.
+	 * @param slice Receives the visible part of the page.
+	 * @return Whether any part of the page is visible.
+	 */
+	protected boolean getVisibleSlice(final View page, final Rect slice) {
+	    slice.set(page.getLeft(), page.getTop(), page.getRight(), page.getBottom());
+	    final int left = getScrollX();
+	    final int top = getScrollY();
+	    return slice.intersect(left, top, left + getWidth(), top + getHeight());
+	}
+
+	@Override
+	protected boolean getChildStaticTransformation(final View child, final Transformation t) {
+	    for (int i = 0; i < mTransformedPageCount; i++) {
+	        if (mTransformedPages[i] == child) {
+	            t.set(mPageTransformations[i]);
+	            return true;
+	        }
+	    }
+	    return false;
+	}
+
+	@Override
+	protected void onLayout(final boolean changed, final int l, final int t, final int r,
+	        final int b) {
+	    mTracer.beginSection(TRACE_LAYOUT);
+	    try {
+	        layoutPages();
+	    } finally {
+	        mTracer.endSection();
+	    }
+	}
+
+	/**
+	 * Positions all children along the paging axis relative to the scroll origin.
+	 */
+	protected void layoutPages() {
+	    mPageTransformsValid = false;
+	    if (isWrapping()) {
+	        layoutWrappedPages();
+	        return;
+	    }
+
+	    int slot = 0;
+	    final int count = getChildCount();
+
+	    for (int i = 0; i < count; i++) {
+	        final View child = getChildAt(i);
+	        if (mPageProvider != null) {
+	            layoutPage(child, getScrollOffsetForSlot(mPageScreens[i]) - mPagesScrollOffset);
+	            slot++;
+	        } else if (child.getVisibility() != View.GONE) {
+	            layoutPage(child, getScrollOffsetForSlot(slot) - mPagesScrollOffset);
+	            slot++;
+	        }
+	    }
+	    mCounters.layoutPasses++;
+	    mCounters.laidOutChildren += slot;
+	}
+
+	/**
+	 * Lays out the children for circular mode: each child goes into the slot nearest to the
+	 * viewport, so the screens on both sides of the visible one are always present.
+	 */
+	protected void layoutWrappedPages() {
+	    mTracer.beginSection(TRACE_BIND_PAGES);
+	    try {
+	        final int pageSize = getPageSize();
+	        final int center = getCenterScreenSlot();
+	        final int centerIndex = normalizeScreen(center);
+	        final int count = getChildCount();
+
+	        for (int i = 0; i < count; i++) {
+	            final int slot =
+	                    center + getWrappedDistance(centerIndex, getScreenForChildIndex(i));
+	            layoutPage(getChildAt(i),
+	                    getScrollOffsetForSlot(slot, pageSize) - mPagesScrollOffset);
+	        }
+	        mWrappedLayoutCenterScreen = center;
+	        mCounters.layoutPasses++;
+	        mCounters.laidOutChildren += count;
+	    } finally {
+	        mTracer.endSection();
+	    }
+	}
+
+	@Override
+	protected void onScrollChanged(final int l, final int t, final int oldl, final int oldt) {
+	    super.onScrollChanged(l, t, oldl, oldt);
+	    onScrollOffsetChanged();
+	}
+
+	/**
+	 * Makes the given pager follow this one: whenever this pager scrolls, the other one scrolls to
+	 * the same position in screens, even if its orientation or page size differ. Followers don't
+	 * react to paging gestures themselves (their children still get touches), and their
+	 * {@link OnScreenSwitchListener}s aren't notified of switches made by following, so linked
+	 * pagers can't feed back into each other. While this pager animates, it advances itself and
+	 * all of its followers in one pass before anything is drawn, so they all move in the same frame.
+	 *
+	 * @param pager The pager to link.
+	 */
+	public void addLinkedPager(final AbstractPager pager) {
+	    if (pager.mScrollSource != null) {
+	        throw new IllegalArgumentException("The pager already follows another pager.");
+	    }
+	    for (AbstractPager source = this; source != null; source = source.mScrollSource) {
+	        if (source == pager) {
+	            throw new IllegalArgumentException("Linking these pagers would form a cycle.");
+	        }
+	    }
+
+	    pager.mScrollSource = this;
+	    mLinkedPagers.add(pager);
+	    if (mLinkedPagers.size() == 1 && getWindowToken() != null) {
+	        getViewTreeObserver().addOnPreDrawListener(mLinkedScrollStepper);
+	    }
+	    pager.followScrollPosition(getScrollScreen(), getScrollFraction());
+	    pager.followCurrentScreen(mCurrentScreen);
+	}
+
+	/**
+	 * Hands the current screen on to the followers, which settle silently; see
+	 * {@link #addLinkedPager(AbstractPager)}. Called whenever the current screen changes.
+	 */
+	protected void syncLinkedScreens() {
+	    final int linkedCount = mLinkedPagers.size();
+	    for (int i = 0; i < linkedCount; i++) {
+	        mLinkedPagers.get(i).followCurrentScreen(mCurrentScreen);
+	    }
+	}
+
+	/**
+	 * Takes over the scroll source's current screen, passing it on to this pager's own followers
+	 * and re-binding provider pages around it.
+	 */
+	private void followCurrentScreen(final int screen) {
+	    mCurrentScreen = normalizeScreen(screen);
+	    scheduleBindPages();
+	    syncLinkedScreens();
+	}
+
+	/**
+	 * @return Whether a pager this one follows, directly or not, is animating or has yet to
+	 *         settle on the screen it animated to.
+	 */
+	private boolean isFollowingSnap() {
+	    for (AbstractPager source = mScrollSource; source != null; source = source.mScrollSource) {
+	        if (source.isScrolling() || source.mNextScreen != INVALID_SCREEN) {
+	            return true;
+	        }
+	    }
+	    return false;
+	}
+
+	/**
+	 * Stops the given pager from following this one.
+	 *
+	 * @param pager The pager to unlink.
+	 */
+	public void removeLinkedPager(final AbstractPager pager) {
+	    if (mLinkedPagers.remove(pager)) {
+	        pager.mScrollSource = null;
+	        if (mLinkedPagers.isEmpty() && getWindowToken() != null) {
+	            getViewTreeObserver().removeOnPreDrawListener(mLinkedScrollStepper);
+	        }
+	    }
+	}
+
+	@Override
+	protected void onAttachedToWindow() {
+	    super.onAttachedToWindow();
+	    if (!mLinkedPagers.isEmpty()) {
+	        getViewTreeObserver().addOnPreDrawListener(mLinkedScrollStepper);
+	    }
+	}
+
+	/**
+	 * Advances a running animation ahead of the draw pass, moving all linked pagers along with
+	 * this one. {@link #computeScroll()} then reuses the step instead of advancing again.
+	 */
+	protected void stepLinkedScroll() {
+	    if (!mScrollStepped && mScroller != null && mScroller.computeScrollOffset()) {
+	        mScrollStepped = true;
+	        scrollToOffset(getScrollerOffset());
+	    }
+	}
+
+	/**
+	 * Scrolls to the given position on behalf of the pager this one follows.
+	 *
+	 * @param screen The source pager's {@link #getScrollScreen()}.
+	 * @param fraction The source pager's {@link #getScrollFraction()}.
+	 */
+	protected void followScrollPosition(final int screen, final float fraction) {
+	    if (mScroller != null) {
+	        mScroller.abortAnimation();
+	    }
+
+	    int target = screen;
+	    float targetFraction = fraction;
+	    if (!isWrapping()) {
+	        final int last = getScreenCount() - 1;
+	        if (target >= last) {
+	            target = last;
+	            targetFraction = 0;
+	        }
+	        if (target < 0) {
+	            target = 0;
+	            targetFraction = 0;
+	        }
+	    }
+
+	    final int pageSize = getPageSize();
+	    final int slot = getSnapTargetSlot(target);
+	    if (Math.abs(((long) slot - getCenterScreenSlot()) * pageSize) > MAX_SCROLL_OFFSET) {
+	        jumpToSlot(slot);
+	    }
+	    scrollToOffset(getScrollOffsetForSlot(slot) + Math.round(targetFraction * pageSize));
+	}
+
+	private void onScrollOffsetChanged() {
+	    // Move the screens along as soon as the viewport gets closer to a different slot
+	    if (isWrapping() && getCenterScreenSlot() != mWrappedLayoutCenterScreen) {
+	        layoutWrappedPages();
+	    }
+
+	    if (mOnPageScrollListener != null) {
+	        mOnPageScrollListener.onPageScrolled(getScrollScreen(), getScrollFraction());
+	    }
+
+	    if (mGestureMetrics != null) {
+	        mGestureMetrics.onScroll(SystemClock.uptimeMillis(), isBeingDragged());
+	    }
+
+	    final int linkedCount = mLinkedPagers.size();
+	    if (linkedCount > 0) {
+	        final int screen = getScrollScreen();
+	        final float fraction = getScrollFraction();
+	        for (int i = 0; i < linkedCount; i++) {
+	            mLinkedPagers.get(i).followScrollPosition(screen, fraction);
+	        }
+	    }
+	}
 
 	/**
-	 * Listener for the event that the HorizontalPager switches to a new view.
+	 * Returns the scroll position in screens, e.g. 1.5 when halfway between the second and the
+	 * third screen. In circular mode the position lies between 0 and the screen count. A float
+	 * can't hold fractions of large screen numbers exactly; use {@link #getScrollScreen()} and
+	 * {@link #getScrollFraction()} where that matters.
+	 *
+	 * @return The scroll position.
 	 */
-	public static interface OnScreenSwitchListener {
-	    /**
-	     * Notifies listeners about the new screen. Runs after the animation completed.
-	     *
-	     * @param screen The new screen index.
-	     */
-	    void onScreenSwitched(int screen);
+	public float getScrollPosition() {
+	    return getScrollScreen() + getScrollFraction();
 	}
 
-	public AbstractPager(Context context) {
-		super(context);
-		init();
-	}
+	/**
+	 * @return The whole part of the scroll position: the screen whose slot starts at or before the
+	 *         viewport. In circular mode it lies between 0 and the screen count - 1.
+	 */
+	public int getScrollScreen() {
+	    final int pageSize = getPageSize();
+	    if (pageSize == 0) {
+	        return mCurrentScreen;
+	    }
 
-	public AbstractPager(Context context, AttributeSet attrs) {
-		super(context, attrs);
-		init();
+	    // Relative to the origin, so the division stays exact however far the origin is from 0
+	    final int offset = getScrollOffset();
+	    int pages = offset / pageSize;
+	    if (offset % pageSize < 0) {
+	        pages--;
+	    }
+	    final int screen = mScrollOriginScreen + pages;
+	    return isWrapping() ? normalizeScreen(screen) : screen;
 	}
 
 	/**
-	 * Sets up the scroller and touch/fling sensitivity parameters for the pager.
+	 * @return The fractional part of the scroll position, from 0 (inclusive) to 1.
 	 */
-	protected void init() {
-	    mScroller = new Scroller(getContext());
-	
-	    // Calculate the density-dependent snap velocity in pixels
-	    DisplayMetrics displayMetrics = new DisplayMetrics();
-	    ((WindowManager) getContext().getSystemService(Context.WINDOW_SERVICE)).getDefaultDisplay()
-	            .getMetrics(displayMetrics);
-	    mDensityAdjustedSnapVelocity =
-	            (int) (displayMetrics.density * SNAP_VELOCITY_DIP_PER_SECOND);
-	
-	    final ViewConfiguration configuration = ViewConfiguration.get(getContext());
-	    mTouchSlop = configuration.getScaledTouchSlop();
-	    mMaximumVelocity = configuration.getScaledMaximumFlingVelocity();
+	public float getScrollFraction() {
+	    final int pageSize = getPageSize();
+	    if (pageSize == 0) {
+	        return 0;
+	    }
+
+	    int remainder = getScrollOffset() % pageSize;
+	    if (remainder < 0) {
+	        remainder += pageSize;
+	    }
+	    return remainder / (float) pageSize;
 	}
 	
-	protected abstract void onFirstLayout(int width, int height);
-	
 	@Override
 	public void computeScroll() {
-	    if (mScroller.computeScrollOffset()) {
-	        scrollTo(mScroller.getCurrX(), mScroller.getCurrY());
-	        postInvalidate();
-	    } else if (mNextScreen != INVALID_SCREEN) {
-	        mCurrentScreen = Math.max(0, Math.min(mNextScreen, getChildCount() - 1));
+	    mTracer.beginSection(TRACE_SCROLL);
+	    try {
+	        mCounters.computeScrollCalls++;
+	        final boolean scrolling =
+	                mScrollStepped || (mScroller != null && mScroller.computeScrollOffset());
+	        mScrollStepped = false;
+
+	        if (scrolling) {
+	            mCounters.scrollSteps++;
+	            scrollToOffset(getScrollerOffset());
+	            postInvalidate();
+	        } else if (mNextScreen != INVALID_SCREEN) {
+	            mCurrentScreen = normalizeScreen(mNextScreen);
+	            syncLinkedScreens();
+
+	            // Re-base around the settled screen before offsets grow large enough to lose
+	            // precision
+	            if (Math.abs(getScrollOffset()) > MAX_SCROLL_OFFSET) {
+	                jumpToSlot(getCurrentScreenSlot());
+	            }
 	
-	        // Notify observer about screen change
-	        if (mOnScreenSwitchListener != null) {
-	            mOnScreenSwitchListener.onScreenSwitched(mCurrentScreen);
-	        }
+	            // Notify observer about screen change
+	            if (mOnScreenSwitchListener != null) {
+	                mDispatchingScreenSwitch = true;
+	                try {
+	                    mOnScreenSwitchListener.onScreenSwitched(mCurrentScreen);
+	                } finally {
+	                    mDispatchingScreenSwitch = false;
+	                }
+	            }
+
+	            if (mGestureMetrics != null) {
+	                mGestureMetrics.onScreenSwitched(SystemClock.uptimeMillis());
+	            }
 	
-	        mNextScreen = INVALID_SCREEN;
+	            mNextScreen = INVALID_SCREEN;
+	        }
+
+	        // A follower keeps the pages bound for its source's snap until the source settles
+	        if (!scrolling && mNextScreen == INVALID_SCREEN && mTouchState == TOUCH_STATE_REST
+	                && !isFollowingSnap()) {
+	            scheduleBindPages();
+	        }
+	    } finally {
+	        mTracer.endSection();
 	    }
 	}
 
 	@Override
 	protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
-	    super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+	    mTracer.beginSection(TRACE_MEASURE);
+	    try {
+	        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
 	
-	    final int width = MeasureSpec.getSize(widthMeasureSpec);
-	    final int widthMode = MeasureSpec.getMode(widthMeasureSpec);
-	    if (widthMode != MeasureSpec.EXACTLY) {
-	        throw new IllegalStateException("ViewSwitcher can only be used in EXACTLY mode.");
-	    }
+	        final int width = MeasureSpec.getSize(widthMeasureSpec);
+	        final int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+	        if (widthMode != MeasureSpec.EXACTLY) {
+	            throw new IllegalStateException("ViewSwitcher can only be used in EXACTLY mode.");
+	        }
 	
-	    final int height = MeasureSpec.getSize(heightMeasureSpec);
-	    final int heightMode = MeasureSpec.getMode(heightMeasureSpec);
-	    if (heightMode != MeasureSpec.EXACTLY) {
-	        throw new IllegalStateException("ViewSwitcher can only be used in EXACTLY mode.");
-	    }
+	        final int height = MeasureSpec.getSize(heightMeasureSpec);
+	        final int heightMode = MeasureSpec.getMode(heightMeasureSpec);
+	        if (heightMode != MeasureSpec.EXACTLY) {
+	            throw new IllegalStateException("ViewSwitcher can only be used in EXACTLY mode.");
+	        }
 	
-	    // The children are given the same width and height as the workspace
-	    final int count = getChildCount();
-	    for (int i = 0; i < count; i++) {
-	        getChildAt(i).measure(widthMeasureSpec, heightMeasureSpec);
-	    }
+	        // The children are given the same width and height as the workspace
+	        final int count = getChildCount();
+	        for (int i = 0; i < count; i++) {
+	            getChildAt(i).measure(widthMeasureSpec, heightMeasureSpec);
+	        }
+	        mCounters.measurePasses++;
+	        mCounters.measuredChildren += count;
 	
-	    if (mFirstLayout) {
-	    	onFirstLayout(width, height);
-	        mFirstLayout = false;
-	    }
+	        if (mFirstLayout) {
+	        	onFirstLayout(width, height);
+	            mFirstLayout = false;
+	        }
 	
-	    else if (width != mLastSeenLayoutWidth) { // Width has changed
-	        onLayoutWidthChanged();
-	    }
+	        else if (width != mLastSeenLayoutWidth) { // Width has changed
+	            onLayoutWidthChanged();
+	        }
 	    
-	    else if (height != mLastSeenLayoutHeight) {
-	    	onLayoutHeightChanged();
-	    }
+	        else if (height != mLastSeenLayoutHeight) {
+	        	onLayoutHeightChanged();
+	        }
 	
-	    mLastSeenLayoutWidth   = width;
-	    mLastSeenLayoutHeight  = height;
+	        mLastSeenLayoutWidth   = width;
+	        mLastSeenLayoutHeight  = height;
+	    } finally {
+	        mTracer.endSection();
+	    }
 	}
 	
 	@Override
 	public boolean onInterceptTouchEvent(final MotionEvent ev) {
-	    /*
-	     * By Yoni Samlan: Modified onInterceptTouchEvent based on standard ScrollView's
-	     * onIntercept. The logic is designed to support a nested vertically scrolling view inside
-	     * this one; once a scroll registers for X-wise scrolling, handle it in this view and don't
-	     * let the children, but once a scroll registers for y-wise scrolling, let the children
-	     * handle it exclusively.
-	     */
-	    final int action = ev.getAction();
-	    boolean intercept = false;
+	    mTracer.beginSection(TRACE_INTERCEPT);
+	    try {
+	        /*
+	         * By Yoni Samlan: Modified onInterceptTouchEvent based on standard ScrollView's
+	         * onIntercept. The logic is designed to support a nested vertically scrolling view
+	         * inside this one; once a scroll registers for X-wise scrolling, handle it in this view
+	         * and don't let the children, but once a scroll registers for y-wise scrolling, let the
+	         * children handle it exclusively.
+	         */
+	        mCounters.interceptedEvents++;
+	        if (mScrollSource != null) {
+	            // Following another pager; leave paging gestures to it
+	            return false;
+	        }
+
+	        final int action = ev.getAction();
+	        boolean intercept = false;
 	
-	    switch (action) {
-	        case MotionEvent.ACTION_MOVE:
-	        	
-	            /*
-	             * If we're in a horizontal scroll event, take it (intercept further events). But if
-	             * we're mid-vertical-scroll, don't even try; let the children deal with it. If we
-	             * haven't found a scroll event yet, check for one.
-	             */
-	            if (mTouchState == TOUCH_STATE_HORIZONTAL_SCROLLING ||
-	            		mTouchState == TOUCH_STATE_VERTICAL_SCROLLING) {
+	        switch (action) {
+	            case MotionEvent.ACTION_MOVE:
+	                if (mGestureMetrics != null) {
+	                    mGestureMetrics.onMove(ev.getEventTime());
+	                }
+
 	                /*
-	                 * We've already started a horizontal scroll; set intercept to true so we can
-	                 * take the remainder of all touch events in onTouchEvent.
+	                 * If we're in a horizontal scroll event, take it (intercept further events).
+	                 * But if we're mid-vertical-scroll, don't even try; let the children deal with
+	                 * it. If we haven't found a scroll event yet, check for one.
 	                 */
-	            	intercept = shouldInterceptMotionAction(action);
-	            } else { // We haven't picked up a scroll event yet; check for one.
+	                if (mTouchState == TOUCH_STATE_HORIZONTAL_SCROLLING ||
+	                		mTouchState == TOUCH_STATE_VERTICAL_SCROLLING) {
+	                    /*
+	                     * We've already started a horizontal scroll; set intercept to true so we
+	                     * can take the remainder of all touch events in onTouchEvent.
+	                     */
+	                	intercept = shouldInterceptMotionAction(action);
+	                } else { // We haven't picked up a scroll event yet; check for one.
 	
-	                /*
-	                 * If we detected a horizontal scroll event, start stealing touch events (mark
-	                 * as scrolling). Otherwise, see if we had a vertical scroll event -- if so, let
-	                 * the children handle it and don't look to intercept again until the motion is
-	                 * done.
-	                 */
+	                    /*
+	                     * If we detected a horizontal scroll event, start stealing touch events
+	                     * (mark as scrolling). Otherwise, see if we had a vertical scroll event --
+	                     * if so, let the children handle it and don't look to intercept again until
+	                     * the motion is done.
+	                     */
 	
-	                final float x = ev.getX();
-	                final int xDiff = (int) Math.abs(x - mLastMotionX);
-	                boolean xMoved = xDiff > mTouchSlop;
-	                final float y = ev.getY();
-	                final int yDiff = (int) Math.abs(y - mLastMotionY);
-	                boolean yMoved = yDiff > mTouchSlop;
+	                    final float x = ev.getX();
+	                    boolean xMoved = mPagingEngine.exceedsTouchSlop(mLastMotionX, x);
+	                    final float y = ev.getY();
+	                    boolean yMoved = mPagingEngine.exceedsTouchSlop(mLastMotionY, y);
 	
-	                if (xMoved) {
-	                    // Scroll if the user moved far enough along the X axis
-	                    mTouchState = TOUCH_STATE_HORIZONTAL_SCROLLING;
-	                    mLastMotionX = x;
-	                }                
+	                    if (xMoved) {
+	                        // Scroll if the user moved far enough along the X axis
+	                        mTouchState = TOUCH_STATE_HORIZONTAL_SCROLLING;
+	                        mLastMotionX = x;
+	                    }                
 	
-	                if (yMoved) {
-	                    mTouchState = TOUCH_STATE_VERTICAL_SCROLLING;
-	                    mLastMotionY = y;
+	                    if (yMoved) {
+	                        mTouchState = TOUCH_STATE_VERTICAL_SCROLLING;
+	                        mLastMotionY = y;
+	                    }
 	                }
-	            }
 	
-	            break;
-	        case MotionEvent.ACTION_CANCEL:
-	        case MotionEvent.ACTION_UP:
-	            // Release the drag.
-	            mTouchState = TOUCH_STATE_REST;
-	            break;
-	        case MotionEvent.ACTION_DOWN:
-	            /*
-	             * No motion yet, but register the coordinates so we can check for intercept at the
-	             * next MOVE event.
-	             */
-	            mLastMotionY = ev.getY();
-	            mLastMotionX = ev.getX();
-	            break;
-	        default:
-	            break;
-	        }
+	                break;
+	            case MotionEvent.ACTION_CANCEL:
+	            case MotionEvent.ACTION_UP:
+	                // Release the drag.
+	                mTouchState = TOUCH_STATE_REST;
+	                if (mGestureMetrics != null) {
+	                    mGestureMetrics.onTouchNotTaken();
+	                }
+	                break;
+	            case MotionEvent.ACTION_DOWN:
+	                /*
+	                 * No motion yet, but register the coordinates so we can check for intercept at
+	                 * the next MOVE event.
+	                 */
+	                if (mGestureMetrics != null) {
+	                    mGestureMetrics.onDown();
+	                }
+	                mLastMotionY = ev.getY();
+	                mLastMotionX = ev.getX();
+	                break;
+	            default:
+	                break;
+	            }
 	
-	    return intercept;
+	        return intercept;
+	    } finally {
+	        mTracer.endSection();
+	    }
 	}
 	
-	protected abstract boolean shouldInterceptMotionAction(int action);
+	protected boolean shouldInterceptMotionAction(int action) {
+	    return mTouchState == getScrollingTouchState();
+	}
+
+	/**
+	 * @return Whether a touch is scrolling the pager along its own axis.
+	 */
+	protected boolean isBeingDragged() {
+	    return shouldInterceptMotionAction(MotionEvent.ACTION_MOVE);
+	}
 
 	protected void onLayoutWidthChanged() {
 	}
+
+	/**
+	 * Puts the current screen back into the viewport after the page size changed, and reports it
+	 * to the {@link OnScreenSwitchListener} once the pager has been drawn. The scroll origin is
+	 * moved to the screen's slot, so its offset is 0 whatever the new page size is.
+	 */
+	protected void realignToCurrentScreen() {
+	    if (mScroller != null) {
+	        mScroller.abortAnimation();
+	    }
+	    jumpToSlot(getCurrentScreenSlot());
+	    mNextScreen = mCurrentScreen;
+	    invalidate();
+	}
 	
 	protected void onLayoutHeightChanged() {
 	}
 	
 	@Override
 	public boolean onTouchEvent(final MotionEvent ev) {
+	    mTracer.beginSection(TRACE_TOUCH);
+	    try {
+	        mCounters.touchEvents++;
+	        if (mScrollSource != null) {
+	            return false;
+	        }
+
+	        if (mVelocityTracker == null) {
+	            mVelocityTracker = VelocityTracker.obtain();
+	        }
+	        mVelocityTracker.addMovement(ev);
 	
-	    if (mVelocityTracker == null) {
-	        mVelocityTracker = VelocityTracker.obtain();
-	    }
-	    mVelocityTracker.addMovement(ev);
-	
-	    final int action = ev.getAction();
-	    final float x = ev.getX();
-	    final float y = ev.getY();
+	        final int action = ev.getAction();
+	        final float x = ev.getX();
+	        final float y = ev.getY();
 	    
-	    switch (action) {
-	        case MotionEvent.ACTION_DOWN:
-	        	onTouchActionDown(x, y);
-	            break;
-	        case MotionEvent.ACTION_MOVE:
-	        	onTouchActionMove(x, y);
-	            break;
-	        case MotionEvent.ACTION_UP:
-	        	onTouchActionUp();
-	            break;
-	        case MotionEvent.ACTION_CANCEL:
-	            mTouchState = TOUCH_STATE_REST;
-	            break;
-	        default:
-	            break;
-	    }
+	        switch (action) {
+	            case MotionEvent.ACTION_DOWN:
+	                if (mGestureMetrics != null) {
+	                    mGestureMetrics.onDown();
+	                }
+	            	onTouchActionDown(x, y);
+	                break;
+	            case MotionEvent.ACTION_MOVE:
+	                if (mGestureMetrics != null) {
+	                    mGestureMetrics.onMove(ev.getEventTime());
+	                }
+	            	onTouchActionMove(x, y);
+	                break;
+	            case MotionEvent.ACTION_UP:
+	                mTracer.beginSection(TRACE_SNAP);
+	                try {
+	                    onTouchActionUp();
+	                } finally {
+	                    mTracer.endSection();
+	                }
+	                if (mGestureMetrics != null) {
+	                    mGestureMetrics.onRelease(ev.getEventTime(), mNextScreen != INVALID_SCREEN);
+	                }
+	                break;
+	            case MotionEvent.ACTION_CANCEL:
+	                mTouchState = TOUCH_STATE_REST;
+	                if (mGestureMetrics != null) {
+	                    mGestureMetrics.onCancel();
+	                }
+	                break;
+	            default:
+	                break;
+	        }
 	
-	    return true;
+	        return true;
+	    } finally {
+	        mTracer.endSection();
+	    }
 	}
 
 	protected void onTouchActionUp() {
-		if (mTouchState == TOUCH_STATE_HORIZONTAL_SCROLLING) {
+		if (mTouchState == TOUCH_STATE_HORIZONTAL_SCROLLING
+		        || mTouchState == TOUCH_STATE_VERTICAL_SCROLLING) {
 		    final VelocityTracker velocityTracker = mVelocityTracker;
 		    velocityTracker.computeCurrentVelocity(VELOCITY_UNIT_PIXELS_PER_SECOND,
 		            mMaximumVelocity);
-		    int velocityX = (int) velocityTracker.getXVelocity();
-
-		    if (velocityX > mDensityAdjustedSnapVelocity && mCurrentScreen > 0) {
-		        // Fling hard enough to move left
-		        snapToScreen(mCurrentScreen - 1);
-		    } else if (velocityX < -mDensityAdjustedSnapVelocity
-		            && mCurrentScreen < getChildCount() - 1) {
-		        // Fling hard enough to move right
-		        snapToScreen(mCurrentScreen + 1);
+		    final int velocity = (int) (mTouchState == TOUCH_STATE_HORIZONTAL_SCROLLING
+		            ? velocityTracker.getXVelocity() : velocityTracker.getYVelocity());
+
+		    final int flingTarget = mPagingEngine.getFlingTarget(velocity, mCurrentScreen,
+		            getScreenCount(), isWrapping());
+		    if (flingTarget != PagingEngine.NO_FLING) {
+		        // Fling hard enough to move to the previous or next screen
+		        snapToScreen(flingTarget);
 		    } else {
 		        snapToDestination();
 		    }
@@ -273,35 +1445,60 @@ public abstract class AbstractPager extends ViewGroup {
 		        mVelocityTracker.recycle();
 		        mVelocityTracker = null;
 		    }
-		} else if (mTouchState == TOUCH_STATE_VERTICAL_SCROLLING) {
-			final VelocityTracker velocityTracker = mVelocityTracker;
-            velocityTracker.computeCurrentVelocity(VELOCITY_UNIT_PIXELS_PER_SECOND,
-                    mMaximumVelocity);
-            int velocityY = (int) velocityTracker.getYVelocity();
-
-            if (velocityY > mDensityAdjustedSnapVelocity && mCurrentScreen > 0) {
-                // Fling hard enough to move left
-                snapToScreen(mCurrentScreen - 1);
-            } else if (velocityY < -mDensityAdjustedSnapVelocity
-                    && mCurrentScreen < getChildCount() - 1) {
-                // Fling hard enough to move right
-                snapToScreen(mCurrentScreen + 1);
-            } else {
-                snapToDestination();
-            }
-
-            if (mVelocityTracker != null) {
-                mVelocityTracker.recycle();
-                mVelocityTracker = null;
-            }
 		}
 
 		mTouchState = TOUCH_STATE_REST;
 	}
 
-	protected abstract void onTouchActionMove(final float x, final float y);
+	protected void onTouchActionMove(final float x, final float y) {
+	    final int scrollingState = getScrollingTouchState();
+	    final boolean horizontal = scrollingState == TOUCH_STATE_HORIZONTAL_SCROLLING;
+	    final float position = horizontal ? x : y;
+	    final float lastPosition = horizontal ? mLastMotionX : mLastMotionY;
+
+	    if (mPagingEngine.exceedsTouchSlop(lastPosition, position)) {
+	        // Scroll if the user moved far enough along the paging axis
+	        mTouchState = scrollingState;
+	    }
+
+	    if (mTouchState == scrollingState) {
+	        // Scroll to follow the motion event
+	        final int delta = (int) (lastPosition - position);
+	        if (horizontal) {
+	            mLastMotionX = position;
+	        } else {
+	            mLastMotionY = position;
+	        }
+
+	        if (isWrapping()) {
+	            // Circular mode has no edges; the screens are re-laid out as we go
+	            scrollByOffset(delta);
+	        } else {
+	            scrollByOffset(mPagingEngine.clampDrag(delta, getScrollOffset(),
+	                    getScrollOffsetForSlot(0), getScrollOffsetForSlot(getScreenCount() - 1)));
+	        }
+	    }
+	}
+
+	protected void onTouchActionDown(final float x, final float y) {
+	    /*
+	     * If being flinged and user touches, stop the fling. isFinished will be false if
+	     * being flinged.
+	     */
+	    if (isScrolling()) {
+	        mScroller.abortAnimation();
+	    }
+
+	    // Remember where the motion event started
+	    mLastMotionX = x;
+	    mLastMotionY = y;
 
-	protected abstract void onTouchActionDown(final float x, final float y);
+	    if (!isScrolling()) {
+	        mTouchState = TOUCH_STATE_REST;
+	    } else {
+	        mTouchState = getScrollingTouchState();
+	    }
+	}
 	
 
 	/**
@@ -319,7 +1516,407 @@ public abstract class AbstractPager extends ViewGroup {
 	 * @param currentScreen The new screen.
 	 * @param animate True to smoothly scroll to the screen, false to snap instantly
 	 */
-	public abstract void setCurrentScreen(final int currentScreen, final boolean animate);
+	public void setCurrentScreen(final int currentScreen, final boolean animate) {
+	    if (animate) {
+	        snapToScreen(currentScreen, ANIMATION_SCREEN_SET_DURATION_MILLIS);
+	    } else {
+	        scrollToSlot(getSnapTargetSlot(currentScreen));
+	    }
+	    mCurrentScreen = normalizeScreen(currentScreen);
+	    if (!animate) {
+	        syncLinkedScreens();
+	    }
+	    invalidate();
+	}
+
+	/**
+	 * Animates to the given screen like {@link #setCurrentScreen(int, boolean)}, but coalesces
+	 * requests: all calls made before the next frame are merged into a single (re)targeted
+	 * animation to the last requested screen, and requests for the screen we're already on or
+	 * heading to are dropped. Calls made from an {@link OnScreenSwitchListener} for the screen
+	 * being reported are ignored, so tab widgets that are synced from the listener don't feed the
+	 * switch back into the pager.
+	 *
+	 * @param screen The screen to go to.
+	 */
+	public void navigateToScreen(final int screen) {
+	    final int target = normalizeScreen(screen);
+	    if (mDispatchingScreenSwitch && target == mCurrentScreen) {
+	        mMergedNavigationCount++;
+	        return;
+	    }
+
+	    if (mPendingNavigationScreen != INVALID_SCREEN) {
+	        mMergedNavigationCount++;
+	    } else {
+	        post(mNavigationRunnable);
+	    }
+	    mPendingNavigationScreen = target;
+	}
+
+	/**
+	 * Starts the animation for the pending {@link #navigateToScreen(int)} request, if any.
+	 */
+	protected void flushNavigation() {
+	    final int screen = mPendingNavigationScreen;
+	    if (screen == INVALID_SCREEN) {
+	        return;
+	    }
+	    mPendingNavigationScreen = INVALID_SCREEN;
+
+	    final int destination = mNextScreen != INVALID_SCREEN ? mNextScreen : mCurrentScreen;
+	    if (screen == destination) {
+	        mMergedNavigationCount++;
+	        return;
+	    }
+	    setCurrentScreen(screen, true);
+	}
+
+	/**
+	 * @return The number of {@link #navigateToScreen(int)} calls that were merged into another one
+	 *         or dropped since the pager was created.
+	 */
+	public int getMergedNavigationCount() {
+	    return mMergedNavigationCount;
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+	    super.onDetachedFromWindow();
+	    if (!mLinkedPagers.isEmpty()) {
+	        getViewTreeObserver().removeOnPreDrawListener(mLinkedScrollStepper);
+	    }
+	    removeCallbacks(mNavigationRunnable);
+	    mPendingNavigationScreen = INVALID_SCREEN;
+	    removeCallbacks(mBindPagesRunnable);
+	    mBindPagesPending = false;
+	}
+
+	/**
+	 * Switches the pager to pages supplied by a provider, or back to plain children when null. Any
+	 * existing children are removed. Only the current screen and the screens within
+	 * {@link #OFFSCREEN_PAGE_LIMIT} of it are live views; the others exist only as the state saved
+	 * with {@link View#saveHierarchyState(SparseArray)} when they were destroyed. Don't add or remove
+	 * children directly while a provider is set; set the provider again if its page count changes.
+	 *
+	 * @param pageProvider The provider, or null.
+	 */
+	public void setPageProvider(final PageProvider pageProvider) {
+	    if (mPageProvider != null) {
+	        destroyAllPages();
+	    } else {
+	        removeAllViews();
+	    }
+	    mPageProvider = pageProvider;
+	    // The window plus the page kept in view during a long snap
+	    mPageScreens = pageProvider != null ? new int[2 * OFFSCREEN_PAGE_LIMIT + 2] : null;
+	    if (pageProvider != null && mSavedPageStates == null) {
+	        mSavedPageStates = new SparseArray<SparseArray<Parcelable>>();
+	        mSparePageStates = new ArrayList<SparseArray<Parcelable>>();
+	    }
+
+	    mCurrentScreen = normalizeScreen(mCurrentScreen);
+	    bindPageWindow();
+	    scrollToSlot(getCurrentScreenSlot());
+	}
+
+	/**
+	 * @return The provider set with {@link #setPageProvider(PageProvider)}, or null.
+	 */
+	public PageProvider getPageProvider() {
+	    return mPageProvider;
+	}
+
+	/**
+	 * Re-binds the provider's pages around the current screen once drawing is done, if they were
+	 * bound around another one. Changes are batched into a single {@link #bindPageWindow()}.
+	 */
+	private void scheduleBindPages() {
+	    if (mPageProvider != null && mBoundScreen != mCurrentScreen && !mBindPagesPending) {
+	        mBindPagesPending = true;
+	        post(mBindPagesRunnable);
+	    }
+	}
+
+	/**
+	 * Makes the live pages match the window around the current screen: pages that left it are
+	 * saved and destroyed, pages that entered it are created and restored. All changes are made in
+	 * one pass, so they cost a single layout.
+	 */
+	protected void bindPageWindow() {
+	    bindPageWindow(mCurrentScreen, INVALID_SCREEN);
+	}
+
+	/**
+	 * Makes the live pages match the window around the given screen, plus one extra screen that
+	 * is kept if it is live already.
+	 *
+	 * @param center The screen to bind the window around.
+	 * @param keepScreen A screen to keep, or {@link #INVALID_SCREEN}.
+	 */
+	private void bindPageWindow(final int center, final int keepScreen) {
+	    mBindPagesPending = false;
+	    if (mPageProvider == null) {
+	        return;
+	    }
+	    mTracer.beginSection(TRACE_BIND_PAGES);
+	    try {
+	        final int count = getScreenCount();
+	        mPageProvider.startUpdate(this);
+
+	        for (int i = getChildCount() - 1; i >= 0; i--) {
+	            final int screen = mPageScreens[i];
+	            if (screen < count && (screen == keepScreen || isInPageWindow(center, screen))) {
+	                continue;
+	            }
+	            final View page = getChildAt(i);
+	            final SparseArray<Parcelable> state = obtainPageState();
+	            page.saveHierarchyState(state);
+	            mSavedPageStates.put(screen, state);
+	            removeViewAt(i);
+	            System.arraycopy(mPageScreens, i + 1, mPageScreens, i, getChildCount() - i);
+	            mPageProvider.destroyPage(this, screen, page);
+	        }
+
+	        for (int distance = -OFFSCREEN_PAGE_LIMIT; distance <= OFFSCREEN_PAGE_LIMIT;
+	                distance++) {
+	            int screen = center + distance;
+	            if (isWrapping()) {
+	                screen = normalizeScreen(screen);
+	            } else if (screen < 0 || screen >= count) {
+	                continue;
+	            }
+	            if (indexOfPage(screen) != INVALID_SCREEN) {
+	                continue;
+	            }
+
+	            final View page = mPageProvider.createPage(this, screen);
+	            final SparseArray<Parcelable> state = mSavedPageStates.get(screen);
+	            if (state != null) {
+	                page.restoreHierarchyState(state);
+	                mSavedPageStates.remove(screen);
+	                recyclePageState(state);
+	            }
+	            mPageScreens[getChildCount()] = screen;
+	            addView(page);
+	        }
+
+	        mPageProvider.finishUpdate(this);
+	        // With an extra page kept, the window still needs trimming once the pager settles
+	        mBoundScreen = keepScreen == INVALID_SCREEN || indexOfPage(keepScreen) == INVALID_SCREEN
+	                || isInPageWindow(center, keepScreen) ? center : INVALID_SCREEN;
+	    } finally {
+	        mTracer.endSection();
+	    }
+	}
+
+	/**
+	 * Before a snap to a screen outside the bound window, binds the window around the target so
+	 * the animation doesn't end on an empty slot. The page in view is kept until the pager
+	 * settles, so the animation doesn't start from one either. Linked pagers scroll along with
+	 * this one, so they bind theirs as well.
+	 *
+	 * @param whichScreen The screen about to be snapped to; may be out of range in circular mode.
+	 */
+	protected void bindPagesForSnap(final int whichScreen) {
+	    if (mPageProvider != null) {
+	        final int target = normalizeScreen(whichScreen);
+	        if (indexOfPage(target) == INVALID_SCREEN) {
+	            removeCallbacks(mBindPagesRunnable);
+	            bindPageWindow(target, normalizeScreen(getCenterScreenSlot()));
+	        }
+	    }
+
+	    final int linkedCount = mLinkedPagers.size();
+	    for (int i = 0; i < linkedCount; i++) {
+	        mLinkedPagers.get(i).bindPagesForSnap(whichScreen);
+	    }
+	}
+
+	/**
+	 * @return Whether the screen is within {@link #OFFSCREEN_PAGE_LIMIT} screens of the center.
+	 */
+	private boolean isInPageWindow(final int center, final int screen) {
+	    final int distance = isWrapping()
+	            ? getWrappedDistance(center, screen) : screen - center;
+	    return Math.abs(distance) <= OFFSCREEN_PAGE_LIMIT;
+	}
+
+	/**
+	 * Saves and destroys all live pages and forgets the saved states of the others.
+	 */
+	private void destroyAllPages() {
+	    mPageProvider.startUpdate(this);
+	    for (int i = getChildCount() - 1; i >= 0; i--) {
+	        final View page = getChildAt(i);
+	        removeViewAt(i);
+	        mPageProvider.destroyPage(this, mPageScreens[i], page);
+	    }
+	    mPageProvider.finishUpdate(this);
+	    for (int i = 0; i < mSavedPageStates.size(); i++) {
+	        recyclePageState(mSavedPageStates.valueAt(i));
+	    }
+	    mSavedPageStates.clear();
+	    mBoundScreen = INVALID_SCREEN;
+	}
+
+	/**
+	 * @return An empty container for a page's saved state.
+	 */
+	private SparseArray<Parcelable> obtainPageState() {
+	    final int spare = mSparePageStates.size();
+	    return spare > 0 ? mSparePageStates.remove(spare - 1) : new SparseArray<Parcelable>();
+	}
+
+	/**
+	 * Empties a container whose state has been restored or dropped, for reuse.
+	 */
+	private void recyclePageState(final SparseArray<Parcelable> state) {
+	    state.clear();
+	    mSparePageStates.add(state);
+	}
+
+	/**
+	 * @param screen The screen.
+	 * @return The index of the live page showing the screen, or {@link #INVALID_SCREEN}.
+	 */
+	private int indexOfPage(final int screen) {
+	    final int count = getChildCount();
+	    for (int i = 0; i < count; i++) {
+	        if (mPageScreens[i] == screen) {
+	            return i;
+	        }
+	    }
+	    return INVALID_SCREEN;
+	}
+
+	/**
+	 * Installs a sink for per-gesture timing measurements, or removes it when null. Without a sink
+	 * the pager does no measuring at all.
+	 *
+	 * @param sink The sink to report to.
+	 */
+	public void setGestureMetricsSink(final GestureMetricsSink sink) {
+	    mGestureMetrics = sink == null ? null : new GestureMetrics(sink);
+	}
+
+	/**
+	 * Records every touch event the pager receives, including those passed on to its pages, e.g.
+	 * to replay a gesture that dropped frames with benchmark/GestureReplay.
+	 *
+	 * @param recorder The recorder, or null to stop recording.
+	 */
+	public void setGestureRecorder(final GestureRecorder recorder) {
+	    mGestureRecorder = recorder;
+	}
+
+	@Override
+	public boolean dispatchTouchEvent(final MotionEvent ev) {
+	    if (mGestureRecorder != null) {
+	        mGestureRecorder.onTouch(this, ev);
+	    }
+	    return super.dispatchTouchEvent(ev);
+	}
+
+	/**
+	 * Sets the tracer that receives the TRACE_* sections around the pager's phases. Defaults to
+	 * platform tracing (systrace) where available.
+	 *
+	 * @param tracer The tracer, or null (or {@link PagerTracer#NO_OP}) to disable tracing.
+	 */
+	public void setTracer(final PagerTracer tracer) {
+	    mTracer = tracer == null ? PagerTracer.NO_OP : tracer;
+	}
+
+	/**
+	 * Prints the hot-path counters and the pager's current paging state, e.g. for bug reports.
+	 *
+	 * @param writer The writer to print to.
+	 */
+	public void dump(final PrintWriter writer) {
+	    final String prefix = "  ";
+	    writer.print(getClass().getSimpleName());
+	    writer.println(":");
+
+	    writer.print(prefix);
+	    writer.print("screens: ");
+	    writer.print(getScreenCount());
+	    writer.print(" live pages: ");
+	    writer.print(getChildCount());
+	    writer.print(" current: ");
+	    writer.print(mCurrentScreen);
+	    writer.print(" next: ");
+	    writer.print(mNextScreen);
+	    writer.print(" wrap: ");
+	    writer.println(isWrapping());
+
+	    final int center = getCenterScreenSlot();
+	    writer.print(prefix);
+	    writer.print("window: slots ");
+	    writer.print(center - OFFSCREEN_PAGE_LIMIT);
+	    writer.print("..");
+	    writer.print(center + OFFSCREEN_PAGE_LIMIT);
+	    writer.print(" origin: ");
+	    writer.print(mScrollOriginScreen);
+	    writer.print(" offset: ");
+	    writer.print(getScrollOffset());
+	    writer.print(" mode: ");
+	    writer.println(mScrollMode == SCROLL_MODE_PAGES ? "pages" : "container");
+
+	    writer.print(prefix);
+	    writer.print("transformed pages: ");
+	    writer.print(mTransformedPageCount);
+	    writer.print(" linked pagers: ");
+	    writer.print(mLinkedPagers.size());
+	    writer.print(" velocity tracker: ");
+	    writer.print(mVelocityTracker != null);
+	    writer.print(" touch state: ");
+	    writer.println(mTouchState);
+
+	    if (mPageProvider != null) {
+	        writer.print(prefix);
+	        writer.print("saved page states: ");
+	        writer.print(mSavedPageStates.size());
+	        writer.print(" spare: ");
+	        writer.print(mSparePageStates.size());
+	        writer.print(" bound around: ");
+	        writer.println(mBoundScreen);
+	    }
+
+	    writer.print(prefix);
+	    writer.print("scroller: ");
+	    if (mScroller == null) {
+	        writer.println("not created");
+	    } else if (mScroller.isFinished()) {
+	        writer.println("finished");
+	    } else {
+	        writer.print("running, at offset ");
+	        writer.print(getScrollerOffset());
+	        writer.print(" at ");
+	        writer.print(mScroller.timePassed());
+	        writer.print("/");
+	        writer.print(mScroller.getDuration());
+	        writer.println(" ms");
+	    }
+
+	    mCounters.dump(prefix, writer);
+	}
+
+	/**
+	 * Resets the counters printed by {@link #dump(PrintWriter)}.
+	 */
+	public void resetCounters() {
+	    mCounters.reset();
+	}
+
+	/**
+	 * Sets the {@link OnPageScrollListener}.
+	 *
+	 * @param onPageScrollListener The listener for scroll position changes.
+	 */
+	public void setOnPageScrollListener(final OnPageScrollListener onPageScrollListener) {
+	    mOnPageScrollListener = onPageScrollListener;
+	}
 
 	/**
 	 * Sets the {@link OnScreenSwitchListener}.
@@ -334,7 +1931,11 @@ public abstract class AbstractPager extends ViewGroup {
 	 * Snaps to the screen we think the user wants (the current screen for very small movements; the
 	 * next/prev screen for bigger movements).
 	 */
-	protected abstract void snapToDestination();
+	protected void snapToDestination() {
+	    final int delta = getScrollOffset() - getScrollOffsetForSlot(getCurrentScreenSlot());
+	    snapToScreen(mPagingEngine.getDestinationScreen(delta, getPageSize(), mCurrentScreen,
+	            getScreenCount(), isWrapping()));
+	}
 
 	/**
 	 * Snap to a specific screen, animating automatically for a duration proportional to the
@@ -353,6 +1954,27 @@ public abstract class AbstractPager extends ViewGroup {
 	 * @param duration -1 to automatically time it based on scroll distance; a positive number to
 	 *            make the scroll take an exact duration.
 	 */
-	protected abstract void snapToScreen(final int whichScreen, final int duration);
+	protected void snapToScreen(final int whichScreen, final int duration) {
+	    /*
+	     * Modified by Yoni Samlan: Allow new snapping even during an ongoing scroll animation. This
+	     * is intended to make HorizontalPager work as expected when used in conjunction with a
+	     * RadioGroup used as "tabbed" controls. Also, make the animation take a percentage of our
+	     * normal animation time, depending how far they've already scrolled.
+	     */
+	    bindPagesForSnap(whichScreen);
+	    mNextScreen = normalizeScreen(whichScreen);
+	    final int newOffset = getSnapTargetOffset(whichScreen);
+	    final int delta = newOffset - getScrollOffset();
+
+	    if (duration < 0) {
+	        // E.g. if they've scrolled 80% of the way, only animation for 20% of the duration
+	        startScroll(getScrollOffset(), delta,
+	                mPagingEngine.getSnapDuration(delta, getPageSize()));
+	    } else {
+	        startScroll(getScrollOffset(), delta, duration);
+	    }
+
+	    invalidate();
+	}
 
 }
\ No newline at end of file
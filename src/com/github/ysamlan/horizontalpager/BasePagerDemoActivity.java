@@ -21,6 +21,7 @@ public abstract class BasePagerDemoActivity extends Activity {
         mPager.setOnScreenSwitchListener(onScreenSwitchListener);
         mRadioGroup = (RadioGroup) findViewById(R.id.tabs);
         mRadioGroup.setOnCheckedChangeListener(onCheckedChangedListener);
+        ((PageIndicator) findViewById(R.id.page_indicator)).setPager(mPager);
 
         // Go to the simple demo if the user clicks on the simple demo button
         findViewById(R.id.simple_demo_btn).setOnClickListener(new View.OnClickListener() {
@@ -61,13 +62,13 @@ public abstract class BasePagerDemoActivity extends Activity {
                 // Slide to the appropriate screen when the user checks a button.
                 switch (checkedId) {
                     case R.id.radio_btn_0:
-                        mPager.setCurrentScreen(0, true);
+                        mPager.navigateToScreen(0);
                         break;
                     case R.id.radio_btn_1:
-                        mPager.setCurrentScreen(1, true);
+                        mPager.navigateToScreen(1);
                         break;
                     case R.id.radio_btn_2:
-                        mPager.setCurrentScreen(2, true);
+                        mPager.navigateToScreen(2);
                         break;
                     default:
                         break;
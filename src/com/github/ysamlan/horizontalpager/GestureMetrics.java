@@ -0,0 +1,128 @@
+package com.github.ysamlan.horizontalpager;
+
+/**
+ * Per-gesture timing recorder behind {@link AbstractPager#setGestureMetricsSink}. Tracks one
+ * gesture (a drag or a programmatic snap) at a time, from its start until the pager reports the
+ * screen switch, and hands the result to the sink as primitives. All times are in
+ * {@link android.os.SystemClock#uptimeMillis()} milliseconds. Only accessed from the UI thread.
+ */
+final class GestureMetrics {
+
+	/** Frames further apart than this missed their deadline at 60 frames per second. */
+	static final long FRAME_DEADLINE_MILLIS = 17;
+
+	private static final int STATE_IDLE = 0;
+	private static final int STATE_DRAGGING = 1;
+	private static final int STATE_SETTLING = 2;
+
+	private final AbstractPager.GestureMetricsSink mSink;
+	private int mState = STATE_IDLE;
+	private int mKind;
+	private long mPendingMoveTime = -1;
+	private long mFirstMoveTime;
+	private long mFirstScrollTime;
+	private long mReleaseTime;
+	private long mLastFrameTime;
+	private int mFrames;
+	private int mMissedFrames;
+	private long mMaxFrameGap;
+
+	GestureMetrics(final AbstractPager.GestureMetricsSink sink) {
+	    mSink = sink;
+	}
+
+	void onDown() {
+	    mPendingMoveTime = -1;
+	}
+
+	/**
+	 * Notes the first ACTION_MOVE of a touch. A drag only starts once the pager scrolls, since
+	 * most moves end up going to a child or end in a tap.
+	 */
+	void onMove(final long time) {
+	    if (mPendingMoveTime < 0) {
+	        mPendingMoveTime = time;
+	    }
+	}
+
+	void onScroll(final long time, final boolean dragging) {
+	    if (dragging && mState == STATE_IDLE) {
+	        start(AbstractPager.GestureMetricsSink.GESTURE_DRAG);
+	        mState = STATE_DRAGGING;
+	        mFirstMoveTime = mPendingMoveTime < 0 ? time : mPendingMoveTime;
+	        mFirstScrollTime = time;
+	    }
+	}
+
+	void onRelease(final long time, final boolean snapping) {
+	    mPendingMoveTime = -1;
+	    if (mState == STATE_DRAGGING) {
+	        // Without a snap there won't be a screen switch to wait for
+	        mState = snapping ? STATE_SETTLING : STATE_IDLE;
+	        mReleaseTime = time;
+	    }
+	}
+
+	void onCancel() {
+	    mPendingMoveTime = -1;
+	    mState = STATE_IDLE;
+	}
+
+	/**
+	 * Ends a touch the pager never took, e.g. a tap or a nested scroll seen only by
+	 * onInterceptTouchEvent. Leaves a settling snap alone.
+	 */
+	void onTouchNotTaken() {
+	    mPendingMoveTime = -1;
+	    if (mState == STATE_DRAGGING) {
+	        mState = STATE_IDLE;
+	    }
+	}
+
+	/**
+	 * Records a rendered frame. A frame drawn while idle but with an animation running starts a
+	 * programmatic snap.
+	 */
+	void onFrame(final long time, final boolean scrolling) {
+	    if (mState == STATE_IDLE) {
+	        if (!scrolling) {
+	            return;
+	        }
+	        start(AbstractPager.GestureMetricsSink.GESTURE_SNAP);
+	        mState = STATE_SETTLING;
+	        mReleaseTime = time;
+	    }
+
+	    if (mFrames > 0) {
+	        final long gap = time - mLastFrameTime;
+	        if (gap > FRAME_DEADLINE_MILLIS) {
+	            mMissedFrames++;
+	        }
+	        if (gap > mMaxFrameGap) {
+	            mMaxFrameGap = gap;
+	        }
+	    }
+	    mLastFrameTime = time;
+	    mFrames++;
+	}
+
+	void onScreenSwitched(final long time) {
+	    if (mState != STATE_SETTLING) {
+	        return;
+	    }
+	    mState = STATE_IDLE;
+	    mSink.onGestureMeasured(mKind,
+	            mFirstScrollTime < 0 ? -1 : mFirstScrollTime - mFirstMoveTime,
+	            time - mReleaseTime, mFrames, mMissedFrames, mMaxFrameGap);
+	}
+
+	private void start(final int kind) {
+	    mKind = kind;
+	    mFirstMoveTime = -1;
+	    mFirstScrollTime = -1;
+	    mReleaseTime = -1;
+	    mFrames = 0;
+	    mMissedFrames = 0;
+	    mMaxFrameGap = 0;
+	}
+}
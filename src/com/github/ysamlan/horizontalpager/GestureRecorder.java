@@ -0,0 +1,62 @@
+package com.github.ysamlan.horizontalpager;
+
+import android.view.MotionEvent;
+import android.view.View;
+import java.io.PrintWriter;
+
+/**
+ * Writes the touch events a pager receives as a recording that benchmark/GestureReplay can replay
+ * against the pager on a desktop JVM: one line per event, {@code <uptime millis> <action> <x> <y>},
+ * in the pager's coordinates. Install it with
+ * {@link AbstractPager#setGestureRecorder(GestureRecorder)} to also see the events that the pages
+ * consume; as a plain {@link View.OnTouchListener} it only sees those its view is offered.
+ * <p>
+ * The replay lays the pager out at 480x800 pixels with the density of an hdpi display, so record
+ * on a similar device, or on an emulator set up that way.
+ */
+public class GestureRecorder implements View.OnTouchListener {
+
+	private final PrintWriter mWriter;
+
+	/**
+	 * @param writer Receives the recording; flushed after each gesture.
+	 * @param vertical Whether the recording is meant for a {@link VerticalPager}.
+	 */
+	public GestureRecorder(final PrintWriter writer, final boolean vertical) {
+	    mWriter = writer;
+	    mWriter.print("# axis ");
+	    mWriter.println(vertical ? "vertical" : "horizontal");
+	}
+
+	/**
+	 * Declares the screen the pager must settle on when the recording is replayed, e.g. from an
+	 * {@link AbstractPager.OnScreenSwitchListener} after the last gesture. The last declaration
+	 * wins.
+	 *
+	 * @param screen The screen index.
+	 */
+	public void expect(final int screen) {
+	    mWriter.print("# expect ");
+	    mWriter.println(screen);
+	    mWriter.flush();
+	}
+
+	/**
+	 * Records the event; never consumes it.
+	 */
+	@Override
+	public boolean onTouch(final View v, final MotionEvent event) {
+	    final int action = event.getAction();
+	    mWriter.print(event.getEventTime());
+	    mWriter.print(' ');
+	    mWriter.print(action);
+	    mWriter.print(' ');
+	    mWriter.print(event.getX());
+	    mWriter.print(' ');
+	    mWriter.println(event.getY());
+	    if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+	        mWriter.flush();
+	    }
+	    return false;
+	}
+}
@@ -22,11 +22,8 @@ package com.github.ysamlan.horizontalpager;
 
 import android.content.Context;
 import android.util.AttributeSet;
-import android.view.Display;
-import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
-import android.view.WindowManager;
 
 /**
  * A view group that allows users to switch between multiple screens (layouts) in the same way as
@@ -83,152 +80,61 @@ public final class HorizontalPager extends AbstractPager {
     
     @Override
     protected void onFirstLayout(int width, int height) {
-    	scrollTo(mCurrentScreen * width, 0);
+    	jumpToSlot(getCurrentScreenSlot());
     }
     
     @Override
-    protected void onLayoutWidthChanged() {
-    	/*
-		 * Recalculate the width and scroll to the right position to be sure we're in the right
-		 * place in the event that we had a rotation that didn't result in an activity restart
-		 * (code by aveyD). Without this you can end up between two pages after a rotation.
-		 */
-		Display display =
-		        ((WindowManager) getContext().getSystemService(Context.WINDOW_SERVICE))
-		                .getDefaultDisplay();
-		int displayWidth = display.getWidth();
-
-		mNextScreen = Math.max(0, Math.min(getCurrentScreen(), getChildCount() - 1));
-		final int newX = mNextScreen * displayWidth;
-		final int delta = newX - getScrollX();
-
-		mScroller.startScroll(getScrollX(), 0, delta, 0, 0);
+    protected int getPageSize() {
+        return getWidth();
     }
-    
-    @Override
-	protected void onLayout(final boolean changed, final int l, final int t,
-			final int r, final int b) {
-			    int childLeft = 0;
-			    final int count = getChildCount();
-			
-			    for (int i = 0; i < count; i++) {
-			        final View child = getChildAt(i);
-			        if (child.getVisibility() != View.GONE) {
-			            final int childWidth = child.getMeasuredWidth();
-			            child.layout(childLeft, 0, childLeft + childWidth, child.getMeasuredHeight());
-			            childLeft += childWidth;
-			        }
-			    }
-			}
-    
+
     @Override
-    protected boolean shouldInterceptMotionAction(int action) {
-    	return mTouchState == TOUCH_STATE_HORIZONTAL_SCROLLING;
+    protected int getContainerScrollOffset() {
+        return getScrollX();
     }
-    
-    public void setCurrentScreen(final int currentScreen, final boolean animate) {
-	    mCurrentScreen = Math.max(0, Math.min(currentScreen, getChildCount() - 1));
-	    if (animate) {
-	        snapToScreen(currentScreen, ANIMATION_SCREEN_SET_DURATION_MILLIS);
-	    } else {
-	        scrollTo(mCurrentScreen * getWidth(), 0);
-	    }
-	    invalidate();
-	}
-    
-    @Override
-    protected void onTouchActionDown(float x, float y) {
-    	/*
-		 * If being flinged and user touches, stop the fling. isFinished will be false if
-		 * being flinged.
-		 */
-		if (!mScroller.isFinished()) {
-		    mScroller.abortAnimation();
-		}
-
-		// Remember where the motion event started
-		mLastMotionX = x;
 
-		if (mScroller.isFinished()) {
-		    mTouchState = TOUCH_STATE_REST;
-		} else {
-		    mTouchState = TOUCH_STATE_HORIZONTAL_SCROLLING;
-		}
+    @Override
+    protected void scrollContainerTo(final int offset) {
+        scrollTo(offset, 0);
     }
-    
+
     @Override
-    protected void onTouchActionMove(float x, float y) {
-    	final int xDiff = (int) Math.abs(x - mLastMotionX);
-		boolean xMoved = xDiff > mTouchSlop;
+    protected void offsetPage(final View child, final int delta) {
+        child.offsetLeftAndRight(delta);
+    }
 
-		if (xMoved) {
-		    // Scroll if the user moved far enough along the X axis
-		    mTouchState = TOUCH_STATE_HORIZONTAL_SCROLLING;
-		}
+    @Override
+    protected int getPageOffset(final View child) {
+        return child.getLeft();
+    }
 
-		if (mTouchState == TOUCH_STATE_HORIZONTAL_SCROLLING) {
-		    // Scroll to follow the motion event
-		    final int deltaX = (int) (mLastMotionX - x);
-		    mLastMotionX = x;
-		    final int scrollX = getScrollX();
+    @Override
+    protected int getScrollerOffset() {
+        return mScroller.getCurrX();
+    }
 
-		    if (deltaX < 0) {
-		        if (scrollX > 0) {
-		            scrollBy(Math.max(-scrollX, deltaX), 0);
-		        }
-		    } else if (deltaX > 0) {
-		        final int availableToScroll =
-		                getChildAt(getChildCount() - 1).getRight() - scrollX - getWidth();
+    @Override
+    protected void layoutPage(final View child, final int offset) {
+        child.layout(offset, 0, offset + child.getMeasuredWidth(), child.getMeasuredHeight());
+    }
 
-		        if (availableToScroll > 0) {
-		            scrollBy(Math.min(availableToScroll, deltaX), 0);
-		        }
-		    }
-		}
+    @Override
+    protected void onLayoutWidthChanged() {
+    	/*
+		 * Scroll to the right position to be sure we're in the right place in the event that we
+		 * had a rotation that didn't result in an activity restart (idea by aveyD). Without this
+		 * you can end up between two pages after a rotation.
+		 */
+		realignToCurrentScreen();
     }
     
     @Override
-    protected void snapToDestination() {
-    	final int screenWidth = getWidth();
-	    int scrollX = getScrollX();
-	    int whichScreen = mCurrentScreen;
-	    int deltaX = scrollX - (screenWidth * mCurrentScreen);
-	
-	    // Check if they want to go to the prev. screen
-	    if ((deltaX < 0) && mCurrentScreen != 0
-	            && ((screenWidth / FRACTION_OF_SCREEN_WIDTH_FOR_SWIPE) < -deltaX)) {
-	        whichScreen--;
-	        // Check if they want to go to the next screen
-	    } else if ((deltaX > 0) && (mCurrentScreen + 1 != getChildCount())
-	            && ((screenWidth / FRACTION_OF_SCREEN_WIDTH_FOR_SWIPE) < deltaX)) {
-	        whichScreen++;
-	    }
-	
-	    snapToScreen(whichScreen);
+    protected void startScroll(final int from, final int delta, final int duration) {
+        getScroller().startScroll(from, 0, delta, 0, duration);
     }
-    
+
     @Override
-    protected void snapToScreen(int whichScreen, int duration) {
-    	/*
-	     * Modified by Yoni Samlan: Allow new snapping even during an ongoing scroll animation. This
-	     * is intended to make HorizontalPager work as expected when used in conjunction with a
-	     * RadioGroup used as "tabbed" controls. Also, make the animation take a percentage of our
-	     * normal animation time, depending how far they've already scrolled.
-	     */
-	    mNextScreen = Math.max(0, Math.min(whichScreen, getChildCount() - 1));
-	    final int newX = mNextScreen * getWidth();
-	    final int delta = newX - getScrollX();
-	
-	    if (duration < 0) {
-	         // E.g. if they've scrolled 80% of the way, only animation for 20% of the duration
-	        mScroller.startScroll(getScrollX(), 0, delta, 0, (int) (Math.abs(delta)
-	                / (float) getWidth() * ANIMATION_SCREEN_SET_DURATION_MILLIS));
-	    } else {
-	        mScroller.startScroll(getScrollX(), 0, delta, 0, duration);
-	    }
-	
-	    invalidate();
-    	
+    protected int getScrollingTouchState() {
+        return TOUCH_STATE_HORIZONTAL_SCROLLING;
     }
-    
 }
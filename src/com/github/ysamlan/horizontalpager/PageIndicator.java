@@ -0,0 +1,196 @@
+package com.github.ysamlan.horizontalpager;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.view.View;
+
+/**
+ * A lightweight row of dots showing which screen of an {@link AbstractPager} is visible.
+ * <p>
+ * The indicator is drawn by a single view regardless of the number of screens and follows the
+ * pager's scroll position on every frame of a drag or animation. Moving the highlight only
+ * invalidates the pixels the highlight left and entered; the view is never re-laid out unless
+ * the number of screens changes. With more screens than fit, at most {@link #MAX_VISIBLE_DOTS}
+ * dots are shown, in a window that slides along with the visible screen.
+ */
+public class PageIndicator extends View implements AbstractPager.OnPageScrollListener {
+
+	private static final float DOT_RADIUS_DIP = 4;
+	private static final float DOT_SPACING_DIP = 16;
+
+	/** The most dots shown at once; beyond that the dots become a window around the position. */
+	public static final int MAX_VISIBLE_DOTS = 9;
+
+	private final Paint mDotPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+	private final Paint mHighlightPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+	private final float mDotRadius;
+	private final float mDotSpacing;
+	private int mPageCount;
+	private float mPosition;
+	private int mVisibleDots;
+	private int mFirstVisibleDot;
+
+	/**
+	 * Simple constructor to use when creating a view from code.
+	 *
+	 * @param context The Context the view is running in.
+	 */
+	public PageIndicator(final Context context) {
+		this(context, null);
+	}
+
+	/**
+	 * Constructor that is called when inflating a view from XML.
+	 *
+	 * @param context The Context the view is running in.
+	 * @param attrs The attributes of the XML tag that is inflating the view.
+	 */
+	public PageIndicator(final Context context, final AttributeSet attrs) {
+		super(context, attrs);
+
+		final float density = context.getResources().getDisplayMetrics().density;
+		mDotRadius = DOT_RADIUS_DIP * density;
+		mDotSpacing = DOT_SPACING_DIP * density;
+		mDotPaint.setColor(Color.GRAY);
+		mHighlightPaint.setColor(Color.WHITE);
+	}
+
+	/**
+	 * Binds the indicator to a pager, replacing the pager's
+	 * {@link AbstractPager.OnPageScrollListener}. Call {@link #setPageCount(int)} again if screens
+	 * are added or removed later.
+	 *
+	 * @param pager The pager to follow.
+	 */
+	public void setPager(final AbstractPager pager) {
+	    pager.setOnPageScrollListener(this);
+	    setPageCount(pager.getScreenCount());
+	    onPageScrolled(pager.getScrollScreen(), pager.getScrollFraction());
+	}
+
+	/**
+	 * Sets the number of dots.
+	 *
+	 * @param pageCount The number of screens.
+	 */
+	public void setPageCount(final int pageCount) {
+	    if (pageCount != mPageCount) {
+	        mPageCount = pageCount;
+	        updateVisibleDots();
+	        requestLayout();
+	        invalidate();
+	    }
+	}
+
+	/**
+	 * Sets the colors of the dots.
+	 *
+	 * @param dotColor The color of the dots for the screens that aren't visible.
+	 * @param highlightColor The color of the dot for the visible screen.
+	 */
+	public void setColors(final int dotColor, final int highlightColor) {
+	    mDotPaint.setColor(dotColor);
+	    mHighlightPaint.setColor(highlightColor);
+	    invalidate();
+	}
+
+	@Override
+	public void onPageScrolled(final int screen, final float fraction) {
+	    final float position = screen + fraction;
+	    if (position == mPosition) {
+	        return;
+	    }
+
+	    final float oldCenter = getHighlightCenterX();
+	    final int oldFirstVisibleDot = mFirstVisibleDot;
+	    mPosition = position;
+	    updateFirstVisibleDot();
+	    if (mFirstVisibleDot != oldFirstVisibleDot) {
+	        // The window of dots moved; every dot shifts
+	        invalidate();
+	        return;
+	    }
+	    final float newCenter = getHighlightCenterX();
+
+	    // Only the area the highlight moved across needs to be redrawn
+	    final float reach = mDotRadius + 1;
+	    invalidate((int) (Math.min(oldCenter, newCenter) - reach),
+	            (int) (getCenterY() - reach),
+	            (int) Math.ceil(Math.max(oldCenter, newCenter) + reach),
+	            (int) Math.ceil(getCenterY() + reach));
+	}
+
+	@Override
+	protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+	    final int dots = Math.min(mPageCount, MAX_VISIBLE_DOTS);
+	    final int desiredWidth =
+	            (int) Math.ceil(dots * mDotSpacing) + getPaddingLeft() + getPaddingRight();
+	    final int desiredHeight =
+	            (int) Math.ceil(2 * mDotRadius) + getPaddingTop() + getPaddingBottom();
+	    setMeasuredDimension(resolveSize(desiredWidth, widthMeasureSpec),
+	            resolveSize(desiredHeight, heightMeasureSpec));
+	}
+
+	@Override
+	protected void onSizeChanged(final int w, final int h, final int oldw, final int oldh) {
+	    super.onSizeChanged(w, h, oldw, oldh);
+	    updateVisibleDots();
+	}
+
+	@Override
+	protected void onDraw(final Canvas canvas) {
+	    final float centerY = getCenterY();
+	    final int end = mFirstVisibleDot + mVisibleDots;
+	    for (int i = mFirstVisibleDot; i < end; i++) {
+	        canvas.drawCircle(getDotCenterX(i), centerY, mDotRadius, mDotPaint);
+	    }
+	    if (mVisibleDots > 0) {
+	        canvas.drawCircle(getHighlightCenterX(), centerY, mDotRadius, mHighlightPaint);
+	    }
+	}
+
+	private float getDotCenterX(final float position) {
+	    final int available = getWidth() - getPaddingLeft() - getPaddingRight();
+	    final float start = getPaddingLeft() + (available - mVisibleDots * mDotSpacing) / 2;
+	    return start + (position - mFirstVisibleDot + 0.5f) * mDotSpacing;
+	}
+
+	/**
+	 * Works out how many dots fit, then where the window of visible dots starts.
+	 */
+	private void updateVisibleDots() {
+	    final int available = getWidth() - getPaddingLeft() - getPaddingRight();
+	    int visibleDots = Math.min(mPageCount, MAX_VISIBLE_DOTS);
+	    if (available > 0) {
+	        visibleDots = Math.min(visibleDots, Math.max(1, (int) (available / mDotSpacing)));
+	    }
+	    mVisibleDots = visibleDots;
+	    updateFirstVisibleDot();
+	}
+
+	/**
+	 * Keeps the dot of the visible screen in the middle of the window where possible.
+	 */
+	private void updateFirstVisibleDot() {
+	    final int current = Math.round(mPosition) % Math.max(1, mPageCount);
+	    final int first = current - mVisibleDots / 2;
+	    mFirstVisibleDot = Math.max(0, Math.min(first, mPageCount - mVisibleDots));
+	}
+
+	private float getHighlightCenterX() {
+	    float position = mPosition;
+
+	    // Past the last screen of a circular pager: slide out on the right, then in on the left
+	    if (position > mPageCount - 0.5f) {
+	        position -= mPageCount;
+	    }
+	    return getDotCenterX(position);
+	}
+
+	private float getCenterY() {
+	    return getPaddingTop() + (getHeight() - getPaddingTop() - getPaddingBottom()) / 2f;
+	}
+}
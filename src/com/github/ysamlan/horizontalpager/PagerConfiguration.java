@@ -0,0 +1,50 @@
+package com.github.ysamlan.horizontalpager;
+
+import android.content.Context;
+import android.util.DisplayMetrics;
+import android.util.SparseArray;
+import android.view.ViewConfiguration;
+
+/**
+ * Density-dependent touch and fling parameters shared by every pager on the same display.
+ * <p>
+ * Pagers embedded as rows of a list are constructed and thrown away constantly while the list
+ * scrolls, so the values are computed once per display density and cached instead of being looked
+ * up through the WindowManager for every instance. Only accessed from the UI thread.
+ */
+final class PagerConfiguration {
+
+	private static final SparseArray<PagerConfiguration> sConfigurations =
+	        new SparseArray<PagerConfiguration>();
+
+	final int densityAdjustedSnapVelocity;
+	final int touchSlop;
+	final int maximumVelocity;
+
+	private PagerConfiguration(final Context context, final DisplayMetrics displayMetrics) {
+	    // Calculate the density-dependent snap velocity in pixels
+	    densityAdjustedSnapVelocity =
+	            (int) (displayMetrics.density * AbstractPager.SNAP_VELOCITY_DIP_PER_SECOND);
+
+	    final ViewConfiguration configuration = ViewConfiguration.get(context);
+	    touchSlop = configuration.getScaledTouchSlop();
+	    maximumVelocity = configuration.getScaledMaximumFlingVelocity();
+	}
+
+	/**
+	 * Returns the configuration for the display the given context renders to, computing it on
+	 * first use.
+	 *
+	 * @param context The Context the pager is running in.
+	 * @return The shared configuration.
+	 */
+	static PagerConfiguration get(final Context context) {
+	    final DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+	    PagerConfiguration configuration = sConfigurations.get(displayMetrics.densityDpi);
+	    if (configuration == null) {
+	        configuration = new PagerConfiguration(context, displayMetrics);
+	        sConfigurations.put(displayMetrics.densityDpi, configuration);
+	    }
+	    return configuration;
+	}
+}
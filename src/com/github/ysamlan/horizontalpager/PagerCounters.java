@@ -0,0 +1,87 @@
+package com.github.ysamlan.horizontalpager;
+
+import java.io.PrintWriter;
+
+import android.os.SystemClock;
+
+/**
+ * Cheap always-on counters for the pager's hot paths, dumped by
+ * {@link AbstractPager#dump(PrintWriter)}. Plain field increments only, so they can stay enabled in
+ * production builds. Only accessed from the UI thread.
+ */
+final class PagerCounters {
+
+	int measurePasses;
+	int measuredChildren;
+	int layoutPasses;
+	int laidOutChildren;
+	int interceptedEvents;
+	int touchEvents;
+	int computeScrollCalls;
+	int scrollSteps;
+	int containerScrolls;
+	int pagesOffset;
+	/** Frames drawn while the pager reported itself opaque; see AbstractPager#isOpaque(). */
+	int opaqueFrames;
+	/**
+	 * Estimate of the pixels not drawn behind the pager thanks to it being opaque: the viewport
+	 * area for each frame drawn opaque, since the views behind it can skip that area.
+	 */
+	long overdrawPixelsSaved;
+	private long mSinceMillis = SystemClock.uptimeMillis();
+
+	/**
+	 * Resets all counters and restarts the measuring period.
+	 */
+	void reset() {
+	    measurePasses = 0;
+	    measuredChildren = 0;
+	    layoutPasses = 0;
+	    laidOutChildren = 0;
+	    interceptedEvents = 0;
+	    touchEvents = 0;
+	    computeScrollCalls = 0;
+	    scrollSteps = 0;
+	    containerScrolls = 0;
+	    pagesOffset = 0;
+	    opaqueFrames = 0;
+	    overdrawPixelsSaved = 0;
+	    mSinceMillis = SystemClock.uptimeMillis();
+	}
+
+	/**
+	 * Prints each counter with its rate per second over the measuring period.
+	 */
+	void dump(final String prefix, final PrintWriter writer) {
+	    final long elapsedMillis = Math.max(1, SystemClock.uptimeMillis() - mSinceMillis);
+	    writer.print(prefix);
+	    writer.print("counters over ");
+	    writer.print(elapsedMillis);
+	    writer.println(" ms:");
+	    dumpCounter(prefix, writer, "onMeasure", measurePasses, elapsedMillis);
+	    dumpCounter(prefix, writer, "  children measured", measuredChildren, elapsedMillis);
+	    dumpCounter(prefix, writer, "page layouts", layoutPasses, elapsedMillis);
+	    dumpCounter(prefix, writer, "  children laid out", laidOutChildren, elapsedMillis);
+	    dumpCounter(prefix, writer, "onInterceptTouchEvent", interceptedEvents, elapsedMillis);
+	    dumpCounter(prefix, writer, "onTouchEvent", touchEvents, elapsedMillis);
+	    dumpCounter(prefix, writer, "computeScroll", computeScrollCalls, elapsedMillis);
+	    dumpCounter(prefix, writer, "  animation steps", scrollSteps, elapsedMillis);
+	    dumpCounter(prefix, writer, "container scrolls", containerScrolls, elapsedMillis);
+	    dumpCounter(prefix, writer, "pages moved", pagesOffset, elapsedMillis);
+	    dumpCounter(prefix, writer, "frames drawn opaque", opaqueFrames, elapsedMillis);
+	    dumpCounter(prefix, writer, "  overdraw pixels saved", overdrawPixelsSaved,
+	            elapsedMillis);
+	}
+
+	private static void dumpCounter(final String prefix, final PrintWriter writer,
+	        final String name, final long count, final long elapsedMillis) {
+	    writer.print(prefix);
+	    writer.print("  ");
+	    writer.print(name);
+	    writer.print(": ");
+	    writer.print(count);
+	    writer.print(" (");
+	    writer.print(count * 1000 / elapsedMillis);
+	    writer.println("/s)");
+	}
+}
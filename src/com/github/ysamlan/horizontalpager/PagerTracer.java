@@ -0,0 +1,34 @@
+package com.github.ysamlan.horizontalpager;
+
+/**
+ * Receives named sections around the pager's phases (measure, layout, touch handling, snap
+ * decisions, animation steps, ...) so that they show up in profiles. Sections nest and are always
+ * ended on the thread that began them, the UI thread.
+ *
+ * @see AbstractPager#setTracer(PagerTracer)
+ */
+public interface PagerTracer {
+
+	/** Tracer that does nothing. */
+	PagerTracer NO_OP = new PagerTracer() {
+	    @Override
+	    public void beginSection(final String name) {
+	    }
+
+	    @Override
+	    public void endSection() {
+	    }
+	};
+
+	/**
+	 * Begins a section.
+	 *
+	 * @param name The section name; one of the constant names used by the pager.
+	 */
+	void beginSection(String name);
+
+	/**
+	 * Ends the most recently begun section.
+	 */
+	void endSection();
+}
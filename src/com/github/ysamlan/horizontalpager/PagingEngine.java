@@ -0,0 +1,121 @@
+package com.github.ysamlan.horizontalpager;
+
+/**
+ * The paging decisions shared by {@link HorizontalPager} and {@link VerticalPager}: touch slop,
+ * drag bounds, fling and swipe-distance thresholds and snap durations.
+ * <p>
+ * Everything is expressed along a single scroll axis (x for the horizontal pager, y for the
+ * vertical one), and the class has no Android dependencies, so it can be exercised and profiled on
+ * a plain JVM. Instances are immutable.
+ */
+final class PagingEngine {
+
+	/** Duration of a snap across a whole page, and of an animated {@code setCurrentScreen}. */
+	static final int ANIMATION_SCREEN_SET_DURATION_MILLIS = 500;
+
+	/** A drag further than 1 / this of a page switches to the neighbouring page on release. */
+	static final int FRACTION_OF_SCREEN_WIDTH_FOR_SWIPE = 4;
+
+	/** Returned by {@link #getFlingTarget} when the release velocity was too low for a fling. */
+	static final int NO_FLING = Integer.MIN_VALUE;
+
+	private final int mTouchSlop;
+	private final int mSnapVelocity;
+
+	/**
+	 * @param touchSlop Distance in pixels a touch can wander before it is considered a drag.
+	 * @param snapVelocity Velocity in pixels per second above which a release flings to the
+	 *        neighbouring page.
+	 */
+	PagingEngine(final int touchSlop, final int snapVelocity) {
+	    mTouchSlop = touchSlop;
+	    mSnapVelocity = snapVelocity;
+	}
+
+	/**
+	 * @param from Coordinate where the touch went down.
+	 * @param to Current coordinate of the touch.
+	 * @return Whether the touch moved far enough to start a drag.
+	 */
+	boolean exceedsTouchSlop(final float from, final float to) {
+	    return (int) Math.abs(to - from) > mTouchSlop;
+	}
+
+	/**
+	 * Limits a drag so that it doesn't scroll past the first or last page.
+	 *
+	 * @param delta Requested change of the scroll offset.
+	 * @param scrollOffset Current scroll offset.
+	 * @param minOffset Scroll offset of the first page.
+	 * @param maxOffset Scroll offset of the last page.
+	 * @return The change of the scroll offset to apply, possibly 0.
+	 */
+	int clampDrag(final int delta, final int scrollOffset, final int minOffset,
+	        final int maxOffset) {
+	    if (delta < 0) {
+	        final int availableToScroll = scrollOffset - minOffset;
+	        return availableToScroll > 0 ? Math.max(-availableToScroll, delta) : 0;
+	    } else if (delta > 0) {
+	        final int availableToScroll = maxOffset - scrollOffset;
+	        return availableToScroll > 0 ? Math.min(availableToScroll, delta) : 0;
+	    }
+	    return 0;
+	}
+
+	/**
+	 * Decides whether a release is a fling to a neighbouring page.
+	 *
+	 * @param velocity Release velocity in pixels per second; positive towards the previous page.
+	 * @param currentScreen The current screen.
+	 * @param screenCount The number of screens.
+	 * @param wrapping Whether the pager wraps around past its first and last screen.
+	 * @return The screen to fling to (which may lie outside [0, screenCount) when wrapping), or
+	 *         {@link #NO_FLING}.
+	 */
+	int getFlingTarget(final int velocity, final int currentScreen, final int screenCount,
+	        final boolean wrapping) {
+	    if (velocity > mSnapVelocity && (currentScreen > 0 || wrapping)) {
+	        return currentScreen - 1;
+	    } else if (velocity < -mSnapVelocity && (currentScreen < screenCount - 1 || wrapping)) {
+	        return currentScreen + 1;
+	    }
+	    return NO_FLING;
+	}
+
+	/**
+	 * Decides which screen a slow release settles on.
+	 *
+	 * @param delta Distance the pages were dragged away from the current screen's position.
+	 * @param pageSize Size of a page along the scroll axis.
+	 * @param currentScreen The current screen.
+	 * @param screenCount The number of screens.
+	 * @param wrapping Whether the pager wraps around past its first and last screen.
+	 * @return The screen to snap to, which may lie outside [0, screenCount) when wrapping.
+	 */
+	int getDestinationScreen(final int delta, final int pageSize, final int currentScreen,
+	        final int screenCount, final boolean wrapping) {
+	    final int threshold = pageSize / FRACTION_OF_SCREEN_WIDTH_FOR_SWIPE;
+	    if (delta < 0 && (currentScreen != 0 || wrapping) && threshold < -delta) {
+	        return currentScreen - 1;
+	    } else if (delta > 0 && (currentScreen + 1 != screenCount || wrapping) && threshold < delta) {
+	        return currentScreen + 1;
+	    }
+	    return currentScreen;
+	}
+
+	/**
+	 * Computes the duration of a snap that isn't given an explicit one. It takes the same fraction
+	 * of {@link #ANIMATION_SCREEN_SET_DURATION_MILLIS} as the fraction of a page left to scroll,
+	 * e.g. if the user already dragged 80% of the way, only 20% of the duration remains.
+	 *
+	 * @param delta Distance left to scroll.
+	 * @param pageSize Size of a page along the scroll axis.
+	 * @return The duration in milliseconds.
+	 */
+	int getSnapDuration(final int delta, final int pageSize) {
+	    if (pageSize <= 0) {
+	        return 0;
+	    }
+	    return (int) (Math.abs(delta) / (float) pageSize * ANIMATION_SCREEN_SET_DURATION_MILLIS);
+	}
+}
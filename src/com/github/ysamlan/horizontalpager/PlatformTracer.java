@@ -0,0 +1,81 @@
+package com.github.ysamlan.horizontalpager;
+
+import java.lang.reflect.Method;
+
+import android.os.Build;
+import android.util.Log;
+
+/**
+ * Forwards pager sections to android.os.Trace, so they appear in systrace. The class only exists
+ * on API level 18 and up, above this project's build target, so it is looked up reflectively once;
+ * on older platforms the tracer does nothing.
+ */
+final class PlatformTracer implements PagerTracer {
+
+	private static final String TAG = "PlatformTracer";
+	private static final int TRACE_API_LEVEL = 18;
+
+	private static PlatformTracer sInstance;
+
+	private static final Object[] NO_ARGUMENTS = new Object[0];
+
+	private final Method mBeginSection;
+	private final Method mEndSection;
+	/** Reused for every beginSection call, which all come from the UI thread. */
+	private final Object[] mSectionName = new Object[1];
+
+	private PlatformTracer(final Method beginSection, final Method endSection) {
+	    mBeginSection = beginSection;
+	    mEndSection = endSection;
+	}
+
+	/**
+	 * @return The shared platform tracer.
+	 */
+	static PlatformTracer get() {
+	    if (sInstance == null) {
+	        Method beginSection = null;
+	        Method endSection = null;
+	        if (Build.VERSION.SDK_INT >= TRACE_API_LEVEL) {
+	            try {
+	                final Class<?> trace = Class.forName("android.os.Trace");
+	                beginSection = trace.getMethod("beginSection", String.class);
+	                endSection = trace.getMethod("endSection");
+	            } catch (final Exception e) {
+	                Log.w(TAG, "android.os.Trace unavailable; pager tracing disabled", e);
+	                beginSection = null;
+	                endSection = null;
+	            }
+	        }
+	        sInstance = new PlatformTracer(beginSection, endSection);
+	    }
+	    return sInstance;
+	}
+
+	@Override
+	public void beginSection(final String name) {
+	    if (mBeginSection != null) {
+	        mSectionName[0] = name;
+	        invoke(mBeginSection, mSectionName);
+	    }
+	}
+
+	@Override
+	public void endSection() {
+	    if (mEndSection != null) {
+	        invoke(mEndSection, NO_ARGUMENTS);
+	    }
+	}
+
+	/**
+	 * Calls a static method with a preallocated argument array, so tracing a frame doesn't
+	 * allocate the varargs array Method.invoke would otherwise need.
+	 */
+	private static void invoke(final Method method, final Object[] arguments) {
+	    try {
+	        method.invoke(null, arguments);
+	    } catch (final Exception e) {
+	        Log.w(TAG, "Could not call " + method.getName(), e);
+	    }
+	}
+}
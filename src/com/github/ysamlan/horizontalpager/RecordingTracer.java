@@ -0,0 +1,115 @@
+package com.github.ysamlan.horizontalpager;
+
+import java.util.ArrayList;
+
+/**
+ * Tracer that records which sections ran in which frame, for tests and benchmarks that run on a
+ * plain JVM. Frames are counted by the {@link AbstractPager#TRACE_DRAW} sections: everything that
+ * begins after the n-th draw section ended belongs to frame n.
+ */
+public class RecordingTracer implements PagerTracer {
+
+	private final ArrayList<String> mNames = new ArrayList<String>();
+	private int[] mFrames = new int[16];
+	private int[] mOpenSections = new int[8];
+	private int mDepth;
+	private int mFrame;
+
+	@Override
+	public void beginSection(final String name) {
+	    final int index = mNames.size();
+	    if (index == mFrames.length) {
+	        mFrames = grow(mFrames);
+	    }
+	    if (mDepth == mOpenSections.length) {
+	        mOpenSections = grow(mOpenSections);
+	    }
+	    mNames.add(name);
+	    mFrames[index] = mFrame;
+	    mOpenSections[mDepth++] = index;
+	}
+
+	@Override
+	public void endSection() {
+	    if (mDepth == 0) {
+	        throw new IllegalStateException("endSection() without beginSection()");
+	    }
+	    final int index = mOpenSections[--mDepth];
+	    if (AbstractPager.TRACE_DRAW.equals(mNames.get(index))) {
+	        mFrame++;
+	    }
+	}
+
+	/**
+	 * @return The number of sections begun since creation or the last {@link #clear()}.
+	 */
+	public int getSectionCount() {
+	    return mNames.size();
+	}
+
+	/**
+	 * @param index The index of the section, in the order they were begun.
+	 * @return The name of the section.
+	 */
+	public String getSectionName(final int index) {
+	    return mNames.get(index);
+	}
+
+	/**
+	 * @param index The index of the section, in the order they were begun.
+	 * @return The frame the section ran in.
+	 */
+	public int getSectionFrame(final int index) {
+	    if (index < 0 || index >= mNames.size()) {
+	        throw new IndexOutOfBoundsException("No section " + index);
+	    }
+	    return mFrames[index];
+	}
+
+	/**
+	 * @return The current frame, i.e. the number of draw sections ended so far.
+	 */
+	public int getFrame() {
+	    return mFrame;
+	}
+
+	/**
+	 * @return The number of sections currently begun but not ended.
+	 */
+	public int getOpenSectionCount() {
+	    return mDepth;
+	}
+
+	/**
+	 * Counts how often a section ran in a frame.
+	 *
+	 * @param name The section name.
+	 * @param frame The frame.
+	 * @return The number of sections with that name that began in that frame.
+	 */
+	public int countSections(final String name, final int frame) {
+	    int count = 0;
+	    final int size = mNames.size();
+	    for (int i = 0; i < size; i++) {
+	        if (mFrames[i] == frame && name.equals(mNames.get(i))) {
+	            count++;
+	        }
+	    }
+	    return count;
+	}
+
+	/**
+	 * Forgets all recorded sections and restarts frame counting at 0.
+	 */
+	public void clear() {
+	    mNames.clear();
+	    mDepth = 0;
+	    mFrame = 0;
+	}
+
+	private static int[] grow(final int[] array) {
+	    final int[] grown = new int[array.length * 2];
+	    System.arraycopy(array, 0, grown, 0, array.length);
+	    return grown;
+	}
+}